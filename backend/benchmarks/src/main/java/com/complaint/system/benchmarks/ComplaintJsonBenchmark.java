@@ -0,0 +1,92 @@
+package com.complaint.system.benchmarks;
+
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintSummary;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of the shapes the API returns: the {@link Complaint} entity (still returned by create and
+ * status updates), the cached {@link ComplaintDetail}, and a page of {@link ComplaintSummary} rows. The
+ * mapper is built the way Spring Boot builds the application's, so modules and features match.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComplaintJsonBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class SummaryPage {
+
+        @Param({"20", "100"})
+        public int pageSize;
+
+        private List<ComplaintSummary> rows;
+
+        @Setup
+        public void setUp(ComplaintJsonBenchmark benchmark) {
+            Complaint complaint = benchmark.complaint;
+            rows = new ArrayList<>(pageSize);
+            for (int i = 0; i < pageSize; i++) {
+                rows.add(new ComplaintSummary(UUID.randomUUID(), complaint.getTitle() + " #" + i,
+                        complaint.getDescription(), complaint.getCategory(), complaint.getLocation(),
+                        complaint.getLatitude(), complaint.getLongitude(), Complaint.Status.PENDING,
+                        Complaint.Priority.MEDIUM, i, null, complaint.getCreatedAt(), complaint.getUpdatedAt()));
+            }
+        }
+    }
+
+    private ObjectMapper objectMapper;
+    private Complaint complaint;
+    private ComplaintDetail detail;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        User user = new User("bench@example.com", "unused", "Bench User");
+        complaint = new Complaint("Streetlight out on Oak Avenue",
+                "The streetlight in front of number 42 has been out for a week and the corner is completely dark at night.",
+                "Infrastructure", "42 Oak Avenue", user);
+        complaint.setId(UUID.randomUUID());
+        complaint.setLatitude(40.7128);
+        complaint.setLongitude(-74.0060);
+        complaint.setPriority(Complaint.Priority.HIGH);
+        complaint.setUpvotes(17);
+        complaint.setPhotoUrl("/uploads/ab/cd/abcdef0123456789.jpg");
+        complaint.setCreatedAt(LocalDateTime.now().minusDays(3));
+        complaint.setUpdatedAt(LocalDateTime.now());
+        detail = ComplaintDetail.from(complaint);
+    }
+
+    @Benchmark
+    public byte[] entity() throws Exception {
+        return objectMapper.writeValueAsBytes(complaint);
+    }
+
+    @Benchmark
+    public byte[] detail() throws Exception {
+        return objectMapper.writeValueAsBytes(detail);
+    }
+
+    @Benchmark
+    public byte[] summaryPage(SummaryPage page) throws Exception {
+        return objectMapper.writeValueAsBytes(page.rows);
+    }
+}
@@ -0,0 +1,82 @@
+package com.complaint.system.benchmarks;
+
+import com.complaint.system.ComplaintSystemApplication;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.User;
+import com.complaint.system.repository.UserRepository;
+import com.complaint.system.service.ComplaintService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ComplaintService#createComplaint} and {@link ComplaintService#upvoteComplaint} through the real
+ * application context, against an in-memory H2 database in PostgreSQL mode. Everything around the insert
+ * runs as in production (validation, cache, event bus, triage queue, duplicate index), but H2 does not
+ * spend time the way PostgreSQL does, so compare runs with each other rather than with production latency.
+ *
+ * <p>The per-user upvote path relies on a PostgreSQL {@code ON CONFLICT} insert and is not covered here;
+ * the anonymous path exercises the same counter update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ComplaintServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private ComplaintService complaintService;
+    private User user;
+    private UUID upvoteTarget;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ComplaintSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:bench;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.flyway.enabled=false",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--security.password.bcrypt.strength=4",
+                        "--complaints.photos.upload-dir=" + System.getProperty("java.io.tmpdir") + "/complaint-bench-uploads");
+        complaintService = context.getBean(ComplaintService.class);
+        user = context.getBean(UserRepository.class)
+                .save(new User("bench@example.com", "unused", "Bench User"));
+        upvoteTarget = complaintService.createComplaint("Upvote target", "A complaint every upvote lands on",
+                "Infrastructure", "1 Bench Street", "MEDIUM", null, user).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Complaint createComplaint() {
+        // Distinct text per call so the duplicate index does not collapse the inserts into one bucket
+        long n = ++sequence;
+        return complaintService.createComplaint("Pothole report " + n,
+                "Deep pothole number " + n + " in the left lane, cars are swerving around it",
+                "Roads", n + " Main Street", 40.0 + (n % 1000) / 10_000.0, -74.0, "HIGH", null, user);
+    }
+
+    @Benchmark
+    public int upvoteComplaint() {
+        return complaintService.upvoteComplaint(upvoteTarget, null);
+    }
+}
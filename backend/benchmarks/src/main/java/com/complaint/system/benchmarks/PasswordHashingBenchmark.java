@@ -0,0 +1,57 @@
+package com.complaint.system.benchmarks;
+
+import com.complaint.system.service.PasswordHashingService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * BCrypt cost per signup ({@code encode}) and per login ({@code matches}) through
+ * {@link PasswordHashingService}, at the costs the deployment is likely to run. Each step of the cost
+ * doubles the work, so the interesting number is the absolute latency at the configured strength.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PasswordHashingBenchmark {
+
+    private static final String PASSWORD = "correct horse battery staple";
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private PasswordHashingService hashingService;
+    private String encoded;
+
+    @Setup
+    public void setUp() {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        hashingService = new PasswordHashingService(encoder, 0, 100, new SimpleMeterRegistry());
+        encoded = encoder.encode(PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingService.destroy();
+    }
+
+    @Benchmark
+    public String encode() {
+        return hashingService.encode(PASSWORD).join();
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return hashingService.matches(PASSWORD, encoded).join();
+    }
+}
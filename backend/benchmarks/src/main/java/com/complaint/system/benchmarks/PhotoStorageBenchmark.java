@@ -0,0 +1,145 @@
+package com.complaint.system.benchmarks;
+
+import com.complaint.system.repository.PhotoBlobRepository;
+import com.complaint.system.service.PhotoProcessingService;
+import com.complaint.system.service.PhotoStorageService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link PhotoStorageService#savePhoto} for a new upload (hash, then write the file) and for a repeat of an
+ * upload already on disk (hash only). The blob bookkeeping is a PostgreSQL upsert, so the repository is
+ * stubbed out and the numbers cover hashing and file I/O; thumbnailing runs asynchronously in the
+ * application and is skipped here.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PhotoStorageBenchmark {
+
+    @Param({"102400", "2097152"})
+    public int sizeBytes;
+
+    private Path uploadDir;
+    private PhotoStorageService storageService;
+    private byte[] content;
+    private MockMultipartFile repeated;
+    private long sequence;
+    private String lastStored;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        uploadDir = Files.createTempDirectory("photo-bench");
+        storageService = new PhotoStorageService(uploadDir.toString(), 320, 1024, Duration.ofHours(1),
+                stubBlobRepository(), new NoOpProcessing(), new NoOpTransactions(), new SimpleMeterRegistry());
+
+        content = new byte[sizeBytes];
+        ThreadLocalRandom.current().nextBytes(content);
+        // A JPEG header so the upload is recognised as an image
+        content[0] = (byte) 0xFF;
+        content[1] = (byte) 0xD8;
+        content[2] = (byte) 0xFF;
+        repeated = photo(content.clone());
+        storageService.savePhoto(repeated);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(uploadDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteStored() throws IOException {
+        // Keeps the upload directory from growing by one file per invocation; not part of the measurement
+        if (lastStored != null) {
+            Files.deleteIfExists(uploadDir.resolve(lastStored.substring("/uploads/".length())));
+            lastStored = null;
+        }
+    }
+
+    @Benchmark
+    public String stored() {
+        // Vary the tail so every upload hashes to a new blob
+        ByteBuffer.wrap(content).putLong(content.length - Long.BYTES, ++sequence);
+        lastStored = storageService.savePhoto(photo(content));
+        return lastStored;
+    }
+
+    @Benchmark
+    public String deduplicated() {
+        return storageService.savePhoto(repeated);
+    }
+
+    private static MockMultipartFile photo(byte[] bytes) {
+        return new MockMultipartFile("photo", "photo.jpg", "image/jpeg", bytes);
+    }
+
+    private static PhotoBlobRepository stubBlobRepository() {
+        return (PhotoBlobRepository) Proxy.newProxyInstance(PhotoBlobRepository.class.getClassLoader(),
+                new Class<?>[] {PhotoBlobRepository.class}, (proxy, method, args) -> {
+                    Class<?> type = method.getReturnType();
+                    if (type == int.class) {
+                        return 1;
+                    }
+                    if (type == boolean.class) {
+                        return false;
+                    }
+                    if (type == long.class) {
+                        return 0L;
+                    }
+                    return null;
+                });
+    }
+
+    /** Only the sweep uses transactions, and the benchmark never sweeps. */
+    private static final class NoOpTransactions extends AbstractPlatformTransactionManager {
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+
+    private static final class NoOpProcessing extends PhotoProcessingService {
+        @Override
+        public void renderThumbnail(Path photo, Path thumbnail, int thumbnailSize) {
+        }
+    }
+}
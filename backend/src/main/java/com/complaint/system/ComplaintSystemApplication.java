@@ -2,8 +2,10 @@ package com.complaint.system;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class ComplaintSystemApplication {
     public static void main(String[] args) {
         SpringApplication.run(ComplaintSystemApplication.class, args);
@@ -0,0 +1,64 @@
+package com.complaint.system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Registers {@link AdmissionControlFilter} with one rate limiter and one concurrency limit per endpoint class,
+ * configured under {@code complaints.admission.<auth|create|bulk|upvote>.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "complaints.admission.enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(
+            Environment environment, ObjectMapper objectMapper, MeterRegistry registry) {
+        long maxClients = environment.getProperty("complaints.admission.max-clients", Long.class, 100_000L);
+        double backoffRatio = environment.getProperty("complaints.admission.backoff-ratio", Double.class, 0.9);
+
+        Map<AdmissionControlFilter.Endpoint, AdmissionControlFilter.Guard> guards =
+                new EnumMap<>(AdmissionControlFilter.Endpoint.class);
+        for (AdmissionControlFilter.Endpoint endpoint : AdmissionControlFilter.Endpoint.values()) {
+            String name = endpoint.name().toLowerCase(Locale.ROOT);
+            String prefix = "complaints.admission." + name + ".";
+            AimdConcurrencyLimit concurrency = new AimdConcurrencyLimit(
+                    environment.getProperty(prefix + "min-concurrency", Integer.class, 1),
+                    environment.getProperty(prefix + "max-concurrency", Integer.class, 100),
+                    environment.getProperty(prefix + "latency-threshold", Duration.class, Duration.ofSeconds(1)),
+                    backoffRatio);
+            guards.put(endpoint, new AdmissionControlFilter.Guard(
+                    new ClientRateLimiter(
+                            environment.getProperty(prefix + "rate", Double.class, 1.0),
+                            environment.getProperty(prefix + "burst", Integer.class, 10),
+                            maxClients),
+                    concurrency));
+
+            Gauge.builder("complaints.admission.concurrency.limit", concurrency, AimdConcurrencyLimit::getLimit)
+                    .description("Current adaptive limit on in-flight requests")
+                    .tag("endpoint", name)
+                    .register(registry);
+            Gauge.builder("complaints.admission.concurrency.in_flight", concurrency, AimdConcurrencyLimit::getInFlight)
+                    .description("Admitted requests still being handled")
+                    .tag("endpoint", name)
+                    .register(registry);
+        }
+
+        // Registered after the Spring Security chain (order -100), so rejections still carry the CORS headers
+        FilterRegistrationBean<AdmissionControlFilter> registration =
+                new FilterRegistrationBean<>(new AdmissionControlFilter(guards, objectMapper, registry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,224 @@
+package com.complaint.system.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Sheds load on the write endpoints before it reaches the controllers. A client over its rate, counted by IP
+ * address and, where the email it acts as is cheap to read, by that email too, gets 429; when an endpoint class already has as many requests
+ * in flight as its adaptive limit allows, further ones get 503. Both carry {@code Retry-After}. Reads are
+ * never limited here.
+ */
+class AdmissionControlFilter extends OncePerRequestFilter {
+
+    enum Endpoint {
+        AUTH, CREATE, BULK, UPVOTE;
+
+        private static final Pattern UPVOTE_PATH = Pattern.compile("/api/complaints/[^/]+/upvote");
+
+        static Endpoint of(HttpServletRequest request) {
+            String path = request.getRequestURI().substring(request.getContextPath().length());
+            return switch (request.getMethod()) {
+                case "POST" -> path.startsWith("/api/auth/") ? AUTH
+                        : path.equals("/api/complaints") ? CREATE
+                        : path.equals("/api/complaints/bulk") ? BULK
+                        : null;
+                case "PUT" -> UPVOTE_PATH.matcher(path).matches() ? UPVOTE : null;
+                default -> null;
+            };
+        }
+    }
+
+    record Guard(ClientRateLimiter clients, AimdConcurrencyLimit concurrency) {}
+
+    // Login and signup bodies are a few hundred bytes; larger ones are limited by IP only
+    private static final int MAX_BUFFERED_BODY = 16 * 1024;
+
+    private final Map<Endpoint, Guard> guards;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+
+    AdmissionControlFilter(Map<Endpoint, Guard> guards, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.guards = guards;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Endpoint endpoint = Endpoint.of(request);
+        if (endpoint == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        Guard guard = guards.get(endpoint);
+        // Auth requests carry the email in a JSON body, which has to be buffered so the controller can still read it
+        HttpServletRequest admitted = endpoint == Endpoint.AUTH ? CachedBodyRequest.wrap(request) : request;
+
+        long wait = guard.clients().tryAcquire("ip:" + request.getRemoteAddr());
+        if (wait == 0) {
+            String email = emailOf(endpoint, admitted);
+            if (email != null) {
+                wait = guard.clients().tryAcquire("email:" + email);
+            }
+        }
+        if (wait > 0) {
+            reject(response, endpoint, HttpStatus.TOO_MANY_REQUESTS, "rate_limited",
+                    "Too many requests, please retry shortly", Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait) + 1));
+            return;
+        }
+        if (!guard.concurrency().tryAcquire()) {
+            reject(response, endpoint, HttpStatus.SERVICE_UNAVAILABLE, "overloaded",
+                    "Server is busy, please retry shortly", 1);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(admitted, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            guard.concurrency().release(start, true);
+            throw e;
+        }
+        // Login and signup complete asynchronously once the password hash is done; hold the slot until then
+        if (admitted.isAsyncStarted()) {
+            admitted.getAsyncContext().addListener(new ReleaseOnComplete(guard.concurrency(), start));
+        } else {
+            guard.concurrency().release(start, response.getStatus() >= 500);
+        }
+    }
+
+    /**
+     * The email a request acts as, when it can be read without touching a large body. Complaint creation is
+     * a multipart upload: asking for one of its parameters would make the container parse the whole photo
+     * before the request is admitted, so it is limited by IP only. So is a bulk import, whose emails are
+     * per record in a streamed body.
+     */
+    private String emailOf(Endpoint endpoint, HttpServletRequest request) {
+        String email = null;
+        if (request instanceof CachedBodyRequest cached) {
+            try {
+                email = objectMapper.readTree(cached.body).path("email").asText(null);
+            } catch (IOException e) {
+                // Malformed bodies are rejected by the controller; only the IP limit applies to them
+            }
+        } else if (endpoint == Endpoint.UPVOTE) {
+            // The container only parses form bodies of POST requests, so for this PUT it reads the query string
+            email = request.getParameter("userEmail");
+        }
+        return email == null || email.isBlank() ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private void reject(HttpServletResponse response, Endpoint endpoint, HttpStatus status, String reason,
+                        String message, long retryAfterSeconds) throws IOException {
+        Counter.builder("complaints.admission.rejected")
+                .description("Write requests turned away by admission control")
+                .tag("endpoint", endpoint.name().toLowerCase(Locale.ROOT))
+                .tag("reason", reason)
+                .register(registry)
+                .increment();
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), Map.of("error", message));
+    }
+
+    private record ReleaseOnComplete(AimdConcurrencyLimit concurrency, long start) implements AsyncListener {
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse response = (HttpServletResponse) event.getSuppliedResponse();
+            concurrency.release(start, response.getStatus() >= 500);
+        }
+
+        // The container always calls onComplete afterwards, so the slot is released exactly once there
+        @Override
+        public void onTimeout(AsyncEvent event) {}
+
+        @Override
+        public void onError(AsyncEvent event) {}
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {}
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        static HttpServletRequest wrap(HttpServletRequest request) throws IOException {
+            long length = request.getContentLengthLong();
+            if (length < 0 || length > MAX_BUFFERED_BODY) {
+                return request;
+            }
+            return new CachedBodyRequest(request, request.getInputStream().readAllBytes());
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+    }
+}
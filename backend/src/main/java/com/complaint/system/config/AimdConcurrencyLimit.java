@@ -0,0 +1,76 @@
+package com.complaint.system.config;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Caps the requests of one endpoint class in flight at once, adapting the cap the way TCP adapts its window
+ * (additive increase, multiplicative decrease). A response slower than {@code latencyThreshold}, or one that
+ * failed with a server error, shrinks the limit by {@code backoffRatio}; a fast one grows it by roughly one
+ * per limit's worth of responses, but only while the limit is actually being used. So when the database or
+ * the password hashing pool slows down, fewer requests are let in instead of all of them queueing.
+ * <p>
+ * Like TCP, the limit is cut at most once per round trip: only a request admitted after the last cut can
+ * trigger the next one. The requests that were in flight together when things slowed down all finish slow,
+ * and counting each of them would shrink the limit by {@code backoffRatio} to the power of the limit.
+ */
+class AimdConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    // The limit is fractional so additive increase can work in steps of 1/limit; stored as raw double bits
+    private final AtomicLong limit;
+    // System.nanoTime() of the last multiplicative decrease
+    private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+    AimdConcurrencyLimit(int minLimit, int maxLimit, Duration latencyThreshold, double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = new AtomicLong(Double.doubleToLongBits(maxLimit));
+    }
+
+    boolean tryAcquire() {
+        if (inFlight.incrementAndGet() > getLimit()) {
+            inFlight.decrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns a slot taken by {@link #tryAcquire()} and feeds the outcome of the request, admitted at
+     * {@code startNanos} ({@link System#nanoTime()}), into the limit.
+     */
+    void release(long startNanos, boolean failed) {
+        long now = System.nanoTime();
+        int used = inFlight.getAndDecrement();
+        if (failed || now - startNanos > latencyThresholdNanos) {
+            long decreasedAt = lastDecrease.get();
+            // Compared by difference, as nanoTime values may wrap
+            if (startNanos - decreasedAt > 0 && lastDecrease.compareAndSet(decreasedAt, now)) {
+                update(current -> Math.max(minLimit, current * backoffRatio));
+            }
+            return;
+        }
+        update(current -> used * 2 >= current ? Math.min(maxLimit, current + 1 / current) : current);
+    }
+
+    private void update(DoubleUnaryOperator function) {
+        limit.getAndUpdate(bits -> Double.doubleToLongBits(function.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+
+    int getLimit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+}
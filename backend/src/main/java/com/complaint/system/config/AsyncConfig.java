@@ -0,0 +1,48 @@
+package com.complaint.system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+
+    /**
+     * Bounded pool for rendering thumbnails after an upload; EXIF is stripped on the request thread while
+     * the photo is stored. When the queue is full new tasks are rejected rather than piling up, and the
+     * thumbnail is rendered on its first request instead.
+     */
+    @Bean(name = "photoProcessingExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor photoProcessingExecutor(
+            @Value("${complaints.photos.processing.threads:2}") int threads,
+            @Value("${complaints.photos.processing.queue-capacity:100}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("photo-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * Used instead of the pool above when {@code spring.threads.virtual.enabled} is set: same concurrency
+     * and queue limits, but waiting tasks park virtual threads rather than sitting in a queue.
+     */
+    @Bean(name = "photoProcessingExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskExecutor virtualPhotoProcessingExecutor(
+            @Value("${complaints.photos.processing.threads:2}") int threads,
+            @Value("${complaints.photos.processing.queue-capacity:100}") int queueCapacity) {
+        return new BoundedVirtualThreadExecutor("photo-", threads, queueCapacity);
+    }
+}
@@ -0,0 +1,46 @@
+package com.complaint.system.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the BCrypt cost factor for this machine. One hash at the baseline cost is timed a few times and,
+ * since every extra cost step doubles the work, the highest cost whose projected time fits the target is
+ * chosen. The result never drops below the baseline, so slow hardware keeps the default strength.
+ */
+final class BCryptCostTuner {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCostTuner.class);
+
+    static final int BASELINE_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+    private static final int SAMPLES = 3;
+
+    private BCryptCostTuner() {}
+
+    static int tune(Duration targetLatency) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(BASELINE_STRENGTH);
+        encoder.encode("warmup");
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("benchmark-" + i);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long baselineNanos = samples[SAMPLES / 2];
+
+        int strength = BASELINE_STRENGTH;
+        while (strength < MAX_STRENGTH && (baselineNanos << (strength + 1 - BASELINE_STRENGTH)) <= targetLatency.toNanos()) {
+            strength++;
+        }
+        log.info("BCrypt cost {} takes {} ms here; using cost {} for a {} ms target",
+                BASELINE_STRENGTH, baselineNanos / 1_000_000, strength, targetLatency.toMillis());
+        return strength;
+    }
+}
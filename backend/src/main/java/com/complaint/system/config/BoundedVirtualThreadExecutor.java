@@ -0,0 +1,52 @@
+package com.complaint.system.config;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Virtual-thread counterpart of a bounded {@code ThreadPoolTaskExecutor}: every task gets its own virtual
+ * thread, at most {@code concurrency} of them run at once, and at most {@code queueCapacity} more may wait
+ * (parked, not holding a carrier). Beyond that tasks are rejected, just like a full pool queue.
+ */
+class BoundedVirtualThreadExecutor implements TaskExecutor {
+
+    private final Thread.Builder threadBuilder;
+    private final Semaphore admitted;
+    private final Semaphore running;
+
+    BoundedVirtualThreadExecutor(String threadNamePrefix, int concurrency, int queueCapacity) {
+        this.threadBuilder = Thread.ofVirtual().name(threadNamePrefix, 1);
+        this.admitted = new Semaphore(concurrency + queueCapacity);
+        this.running = new Semaphore(concurrency);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        if (!admitted.tryAcquire()) {
+            throw new TaskRejectedException("Executor is saturated, did not accept task: " + task);
+        }
+        try {
+            threadBuilder.start(() -> run(task));
+        } catch (RuntimeException e) {
+            admitted.release();
+            throw e;
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            running.acquire();
+            try {
+                task.run();
+            } finally {
+                running.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            admitted.release();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.complaint.system.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets per client key, allowing {@code ratePerSecond} sustained and {@code burst} at once. Each bucket
+ * is a single theoretical-arrival-time (the GCRA form of a token bucket) updated by compare-and-set, so
+ * admitting a request takes no lock; the buckets live in a bounded Caffeine cache, whose map is striped, so
+ * different clients do not contend either. A bucket that has refilled is indistinguishable from a new one,
+ * which is what lets idle clients be evicted.
+ */
+class ClientRateLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final Cache<String, AtomicLong> buckets;
+
+    ClientRateLimiter(double ratePerSecond, int burst, long maxClients) {
+        this.intervalNanos = (long) (1_000_000_000L / ratePerSecond);
+        this.burstNanos = intervalNanos * burst;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(Duration.ofNanos(burstNanos + intervalNanos))
+                .build();
+    }
+
+    /**
+     * Takes a token for {@code key}. Returns 0 when the request is admitted, otherwise the nanoseconds until
+     * a token will be available; a rejected request takes nothing.
+     */
+    long tryAcquire(String key) {
+        AtomicLong arrival = buckets.get(key, k -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
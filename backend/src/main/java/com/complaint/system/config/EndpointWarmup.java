@@ -0,0 +1,118 @@
+package com.complaint.system.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sends read-only requests through the complaint endpoints after startup so the JIT compiles the request
+ * path (Tomcat, security filters, MVC, Jackson, Hibernate queries) before the pod takes real traffic. It
+ * runs inside the {@link ApplicationReadyEvent}, and Spring Boot only reports the readiness probe as
+ * accepting traffic once every ready listener has returned, so a new instance is not routed to until the
+ * warmup is done. Nothing is written; the warmup stops at {@code max-duration} whatever the iteration count.
+ */
+@Component
+@ConditionalOnProperty(name = "complaints.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class EndpointWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(EndpointWarmup.class);
+
+    private static final List<String> PATHS = List.of(
+            "/api/complaints?limit=20",
+            "/api/complaints?limit=20&status=PENDING",
+            "/api/complaints/search?q=street",
+            "/api/complaints/nearby?lat=40.7128&lng=-74.0060",
+            "/api/complaints/queue?limit=10",
+            "/api/complaints/stats"
+    );
+
+    private final ObjectMapper objectMapper;
+    private final int iterations;
+    private final Duration maxDuration;
+
+    public EndpointWarmup(ObjectMapper objectMapper,
+                          @Value("${complaints.warmup.iterations:200}") int iterations,
+                          @Value("${complaints.warmup.max-duration:PT30S}") Duration maxDuration) {
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.maxDuration = maxDuration;
+    }
+
+    // Run after the listeners that load the triage queue and duplicate index, so their endpoints have data
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp(ApplicationReadyEvent event) {
+        if (!(event.getApplicationContext() instanceof WebServerApplicationContext web)) {
+            return;
+        }
+        String base = "http://localhost:" + web.getWebServer().getPort();
+        long deadline = System.nanoTime() + maxDuration.toNanos();
+        long start = System.nanoTime();
+        int requests = 0;
+        int failures = 0;
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        List<String> paths = new ArrayList<>(PATHS);
+        paths.addAll(detailPaths(client, base));
+
+        int iteration = 0;
+        while (iteration++ < iterations && System.nanoTime() < deadline) {
+            for (String path : paths) {
+                requests++;
+                if (get(client, base + path) == null) {
+                    failures++;
+                }
+            }
+        }
+        log.info("Warmup sent {} requests ({} failed) in {} ms", requests, failures,
+                Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private List<String> detailPaths(HttpClient client, String base) {
+        String page = get(client, base + "/api/complaints?limit=5");
+        if (page == null) {
+            return List.of();
+        }
+        List<String> paths = new ArrayList<>();
+        try {
+            // The listing body is a plain array of summaries
+            for (JsonNode item : objectMapper.readTree(page)) {
+                paths.add("/api/complaints/" + item.path("id").asText());
+            }
+        } catch (IOException e) {
+            log.debug("Warmup could not read the complaint page: {}", e.getMessage());
+        }
+        return paths;
+    }
+
+    private static String get(HttpClient client, String url) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).GET().build();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            return response.statusCode() < 400 ? response.body() : null;
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+}
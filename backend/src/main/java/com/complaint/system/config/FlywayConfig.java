@@ -0,0 +1,24 @@
+package com.complaint.system.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Honours {@code spring.flyway.enabled=false} at run time. Normally the property removes the Flyway beans,
+     * but a Spring AOT build (the {@code fast-startup} profile) fixes the bean set when the jar is built, so
+     * the migration would still run; checking the property here skips it either way.
+     */
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(@Value("${spring.flyway.enabled:true}") boolean enabled) {
+        return flyway -> {
+            if (enabled) {
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,79 @@
+package com.complaint.system.config;
+
+import com.complaint.system.service.ComplaintCache;
+import com.complaint.system.service.ComplaintDuplicateIndex;
+import com.complaint.system.service.ComplaintEventBus;
+import com.complaint.system.service.ComplaintStatusEventWriter;
+import com.complaint.system.service.ComplaintTriageQueue;
+import com.complaint.system.service.UserService;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Enables {@code @Timed} on Spring beans (see {@code ComplaintService}).
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        QueryCountingStatementInspector inspector = new QueryCountingStatementInspector();
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilter(MeterRegistry registry) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(new QueryCountFilter(registry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    public MeterBinder complaintCacheMetrics(ComplaintCache complaintCache, UserService userService) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, complaintCache.getNativeCache(), "complaints");
+            CaffeineCacheMetrics.monitor(registry, userService.getUserCache(), "users");
+        };
+    }
+
+    @Bean
+    public MeterBinder complaintIndexMetrics(ComplaintEventBus eventBus, ComplaintTriageQueue triageQueue,
+                                             ComplaintDuplicateIndex duplicateIndex,
+                                             ComplaintStatusEventWriter statusEvents) {
+        return registry -> {
+            Gauge.builder("complaints.events.subscribers", eventBus, ComplaintEventBus::getSubscriberCount)
+                    .description("Live server-sent event subscribers")
+                    .register(registry);
+            Gauge.builder("complaints.triage.open", triageQueue, ComplaintTriageQueue::getTrackedCount)
+                    .description("Open complaints tracked by the triage queue")
+                    .register(registry);
+            Gauge.builder("complaints.triage.unclaimed", triageQueue, ComplaintTriageQueue::getUnclaimedCount)
+                    .description("Open complaints waiting to be claimed")
+                    .register(registry);
+            Gauge.builder("complaints.duplicates.indexed", duplicateIndex, ComplaintDuplicateIndex::size)
+                    .description("Complaints in the near-duplicate index")
+                    .register(registry);
+            Gauge.builder("complaints.status_events.queued", statusEvents, ComplaintStatusEventWriter::getQueuedCount)
+                    .description("Status history events waiting to be written")
+                    .register(registry);
+            FunctionCounter.builder("complaints.status_events.dropped", statusEvents,
+                            ComplaintStatusEventWriter::getDroppedCount)
+                    .description("Status history events lost to a full queue or repeated insert failures")
+                    .register(registry);
+        };
+    }
+}
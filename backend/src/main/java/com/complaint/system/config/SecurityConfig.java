@@ -1,7 +1,10 @@
 package com.complaint.system.config;
 
+import com.complaint.system.controller.ComplaintController;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -11,6 +14,7 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 @Configuration
@@ -27,9 +31,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt with a fixed cost when {@code security.password.bcrypt.strength} is set, otherwise with the
+     * cost {@link BCryptCostTuner} measures to fit {@code target-latency}. Hashes made at other costs
+     * still verify, since BCrypt stores the cost in each hash.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.bcrypt.strength:0}") int strength,
+            @Value("${security.password.bcrypt.target-latency:PT0.25S}") Duration targetLatency) {
+        return new BCryptPasswordEncoder(strength > 0 ? strength : BCryptCostTuner.tune(targetLatency));
     }
 
     @Bean
@@ -38,6 +49,10 @@ public class SecurityConfig {
         configuration.setAllowedOriginPatterns(Arrays.asList("*"));
         configuration.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(Arrays.asList("*"));
+        configuration.setExposedHeaders(Arrays.asList(
+                ComplaintController.NEXT_CURSOR_HEADER, ComplaintController.NEXT_PAGE_HEADER,
+                ComplaintController.POSSIBLE_DUPLICATES_HEADER, ComplaintController.DUPLICATE_OF_HEADER,
+                HttpHeaders.ETAG));
         configuration.setAllowCredentials(false);
         
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
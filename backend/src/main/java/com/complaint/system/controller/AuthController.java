@@ -3,15 +3,24 @@ package com.complaint.system.controller;
 import com.complaint.system.dto.LoginRequest;
 import com.complaint.system.dto.SignupRequest;
 import com.complaint.system.entity.User;
+import com.complaint.system.service.PasswordHashingSaturatedException;
 import com.complaint.system.service.UserService;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Signup and login return {@link CompletableFuture}s: the BCrypt work runs on the password hashing pool and
+ * the servlet thread is released while it does, so a login burst cannot starve the complaint endpoints.
+ */
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/auth")
@@ -24,38 +33,40 @@ public class AuthController {
     }
 
     @PostMapping("/signup")
-    public ResponseEntity<?> signup(@Valid @RequestBody SignupRequest request) {
+    public CompletableFuture<ResponseEntity<?>> signup(@Valid @RequestBody SignupRequest request) {
         try {
-            User user = userService.createUser(
+            return userService.createUser(
                 request.getEmail(), 
                 request.getPassword(), 
                 request.getFullName(), 
                 request.getPhone()
-            );
-            
-            Map<String, Object> response = new HashMap<>();
-            response.put("user", Map.of(
-                "id", user.getId(),
-                "email", user.getEmail(),
-                "fullName", user.getFullName()
-            ));
-            
-            return ResponseEntity.ok(response);
+            ).<ResponseEntity<?>>thenApply(this::userResponse)
+             .exceptionally(e -> ResponseEntity.badRequest().body(Map.of("error", unwrap(e).getMessage())));
+        } catch (PasswordHashingSaturatedException e) {
+            return CompletableFuture.completedFuture(busy(e));
         } catch (RuntimeException e) {
-            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of("error", e.getMessage())));
         }
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest request) {
         Optional<User> userOpt = userService.findByEmail(request.getEmail());
         
-        if (userOpt.isEmpty() || !userService.validatePassword(request.getPassword(), userOpt.get().getPassword())) {
-            return ResponseEntity.badRequest().body(Map.of("error", "Invalid credentials"));
+        if (userOpt.isEmpty()) {
+            return CompletableFuture.completedFuture(invalidCredentials());
         }
         
         User user = userOpt.get();
-        
+        try {
+            return userService.validatePassword(request.getPassword(), user.getPassword())
+                    .thenApply(valid -> valid ? userResponse(user) : invalidCredentials());
+        } catch (PasswordHashingSaturatedException e) {
+            return CompletableFuture.completedFuture(busy(e));
+        }
+    }
+
+    private ResponseEntity<?> userResponse(User user) {
         Map<String, Object> response = new HashMap<>();
         response.put("user", Map.of(
             "id", user.getId(),
@@ -65,4 +76,18 @@ public class AuthController {
         
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    private static ResponseEntity<?> invalidCredentials() {
+        return ResponseEntity.badRequest().body(Map.of("error", "Invalid credentials"));
+    }
+
+    static ResponseEntity<?> busy(PasswordHashingSaturatedException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(Map.of("error", e.getMessage()));
+    }
+
+    private static Throwable unwrap(Throwable e) {
+        return e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+    }
+}
@@ -1,33 +1,89 @@
 package com.complaint.system.controller;
 
+import com.complaint.system.dto.BulkImportResult;
+import com.complaint.system.dto.ComplaintChanges;
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintFilter;
+import com.complaint.system.dto.ComplaintPage;
 import com.complaint.system.dto.ComplaintRequest;
+import com.complaint.system.dto.ComplaintSummary;
+import com.complaint.system.dto.DuplicateCandidate;
 import com.complaint.system.entity.Complaint;
 import com.complaint.system.entity.User;
+import com.complaint.system.service.ComplaintBulkImportService;
+import com.complaint.system.service.ComplaintCache;
+import com.complaint.system.service.ComplaintEventBus;
+import com.complaint.system.service.ComplaintExportService;
 import com.complaint.system.service.ComplaintService;
+import com.complaint.system.service.ComplaintSlaService;
+import com.complaint.system.service.ComplaintStatsService;
+import com.complaint.system.service.PasswordHashingSaturatedException;
 import com.complaint.system.service.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @CrossOrigin(origins = "*")
 @RestController
 @RequestMapping("/api/complaints")
 public class ComplaintController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String NEXT_PAGE_HEADER = "X-Next-Page";
+    public static final String POSSIBLE_DUPLICATES_HEADER = "X-Possible-Duplicates";
+    public static final String DUPLICATE_OF_HEADER = "X-Duplicate-Of";
+    public static final String NDJSON_VALUE = "application/x-ndjson";
+    public static final int DEFAULT_DUPLICATE_LIMIT = 5;
+
     private final ComplaintService complaintService;
     private final UserService userService;
+    private final ComplaintStatsService statsService;
+    private final ComplaintSlaService slaService;
+    private final ComplaintCache complaintCache;
+    private final ComplaintBulkImportService bulkImportService;
+    private final ComplaintExportService exportService;
+    private final ComplaintEventBus eventBus;
+    private final ObjectMapper objectMapper;
 
-    public ComplaintController(ComplaintService complaintService, UserService userService) {
+    public ComplaintController(ComplaintService complaintService, UserService userService,
+                               ComplaintStatsService statsService, ComplaintSlaService slaService,
+                               ComplaintCache complaintCache,
+                               ComplaintBulkImportService bulkImportService,
+                               ComplaintExportService exportService, ComplaintEventBus eventBus,
+                               ObjectMapper objectMapper) {
         this.complaintService = complaintService;
         this.userService = userService;
+        this.statsService = statsService;
+        this.slaService = slaService;
+        this.complaintCache = complaintCache;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
+        this.eventBus = eventBus;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -37,31 +93,236 @@ public class ComplaintController {
             @RequestParam("category") String category,
             @RequestParam("location") String location,
             @RequestParam("priority") String priority,
+            @RequestParam(value = "latitude", required = false) Double latitude,
+            @RequestParam(value = "longitude", required = false) Double longitude,
             @RequestParam(value = "userEmail", required = false) String userEmail,
+            @RequestParam(value = "mergeDuplicate", defaultValue = "false") boolean mergeDuplicate,
             @RequestParam(value = "photo", required = false) MultipartFile photo) {
         try {
+            if (mergeDuplicate) {
+                Optional<ComplaintDetail> existing = complaintService.mergeIntoDuplicate(
+                        category, title, description, location, userEmail);
+                if (existing.isPresent()) {
+                    return ResponseEntity.ok()
+                            .header(DUPLICATE_OF_HEADER, existing.get().id().toString())
+                            .body(existing.get());
+                }
+            }
+            List<DuplicateCandidate> duplicates = complaintService.findDuplicates(
+                    category, title, description, location, DEFAULT_DUPLICATE_LIMIT);
+
             User user = getUserByEmail(userEmail);
             
             Complaint complaint = complaintService.createComplaint(
-                title, description, category, location, priority, photo, user
+                title, description, category, location, latitude, longitude, priority, photo, user
             );
             
-            return ResponseEntity.ok(complaint);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (!duplicates.isEmpty()) {
+                response.header(POSSIBLE_DUPLICATES_HEADER, duplicates.stream()
+                        .map(duplicate -> duplicate.complaint().id().toString())
+                        .collect(Collectors.joining(",")));
+            }
+            return response.body(ComplaintDetail.from(complaint));
+        } catch (PasswordHashingSaturatedException e) {
+            return AuthController.busy(e);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @PostMapping(value = "/bulk", consumes = {NDJSON_VALUE, "text/csv"})
+    public ResponseEntity<?> bulkImport(HttpServletRequest request) {
+        try {
+            BulkImportResult result = request.getContentType().startsWith("text/csv")
+                    ? bulkImportService.importCsv(request.getInputStream())
+                    : bulkImportService.importNdjson(request.getInputStream());
+            return ResponseEntity.ok(result);
+        } catch (PasswordHashingSaturatedException e) {
+            return AuthController.busy(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
     @GetMapping
-    public ResponseEntity<List<Complaint>> getAllComplaints() {
+    public ResponseEntity<?> getAllComplaints(
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "from", required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", defaultValue = "" + ComplaintService.DEFAULT_PAGE_SIZE) int limit) {
+        ComplaintPage<ComplaintSummary> page;
         try {
-            List<Complaint> complaints = complaintService.getAllComplaints();
-            return ResponseEntity.ok(complaints);
+            ComplaintFilter filter = new ComplaintFilter(status, category, priority, from, to);
+            page = complaintService.getComplaintPage(filter, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.ok(Arrays.asList());
         }
+
+        // The body stays a plain array so existing clients keep working; the next page is advertised in a header
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().eTag(etagOf(page.getItems(), page.getNextCursor()));
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    /**
+     * Complaints created, updated or deleted since the {@code since} watermark, for clients that keep a
+     * local copy (or reconnect to the live stream) and only need what changed. Without {@code since} the
+     * feed starts from the beginning.
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<?> getChanges(
+            @RequestParam(value = "since", required = false) String since,
+            @RequestParam(value = "limit", defaultValue = "" + ComplaintService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            ComplaintChanges changes = complaintService.getChangesSince(since, limit);
+            return ResponseEntity.ok(changes);
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
     
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportComplaints(
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "priority", required = false) String priority,
+            @RequestParam(value = "from", required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+                @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        ComplaintExportService.Format exportFormat;
+        ComplaintFilter filter;
+        try {
+            exportFormat = ComplaintExportService.Format.parse(format);
+            filter = new ComplaintFilter(status, category, priority, from, to);
+        } catch (IllegalArgumentException e) {
+            // Streaming handlers only accept a StreamingResponseBody, so the usual error map is written by hand
+            Map<String, String> error = Map.of("error", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(out -> objectMapper.writeValue(out, error));
+        }
+
+        // Runs on the MVC async executor, so the request thread is released while the cursor is drained
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(out, 8192, true)) {
+                    exportService.export(filter, exportFormat, compressed);
+                }
+            } else {
+                exportService.export(filter, exportFormat, out);
+            }
+        };
+
+        String fileName = "complaints." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamEvents() {
+        try {
+            return ResponseEntity.ok(eventBus.subscribe());
+        } catch (IllegalStateException e) {
+            // The emitter handler cannot write a JSON body, so the subscriber limit is signalled by status alone
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .build();
+        }
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchComplaints(
+            @RequestParam("q") String query,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "page", defaultValue = "0") int page,
+            @RequestParam(value = "size", defaultValue = "" + ComplaintService.DEFAULT_PAGE_SIZE) int size) {
+        try {
+            Complaint.Status statusFilter = new ComplaintFilter(status, null, null, null, null).getStatus();
+            ComplaintPage<ComplaintSummary> result =
+                    complaintService.searchComplaints(query, category, statusFilter, page, size);
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (result.getNextCursor() != null) {
+                response.header(NEXT_PAGE_HEADER, result.getNextCursor());
+            }
+            return response.body(result.getItems());
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/nearby")
+    public ResponseEntity<?> getNearbyComplaints(
+            @RequestParam(value = "lat", required = false) Double lat,
+            @RequestParam(value = "lng", required = false) Double lng,
+            @RequestParam(value = "radius", defaultValue = "" + ComplaintService.DEFAULT_NEARBY_RADIUS_METERS) double radius,
+            @RequestParam(value = "minLat", required = false) Double minLat,
+            @RequestParam(value = "minLng", required = false) Double minLng,
+            @RequestParam(value = "maxLat", required = false) Double maxLat,
+            @RequestParam(value = "maxLng", required = false) Double maxLng,
+            @RequestParam(value = "category", required = false) String category,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "limit", defaultValue = "" + ComplaintService.DEFAULT_PAGE_SIZE) int limit) {
+        try {
+            Complaint.Status statusFilter = new ComplaintFilter(status, null, null, null, null).getStatus();
+            if (minLat != null && minLng != null && maxLat != null && maxLng != null) {
+                return ResponseEntity.ok(complaintService.findWithinBox(
+                        minLat, minLng, maxLat, maxLng, limit, category, statusFilter));
+            }
+            if (lat == null || lng == null) {
+                throw new IllegalArgumentException("Either lat and lng, or minLat, minLng, maxLat and maxLng are required");
+            }
+            return ResponseEntity.ok(complaintService.findNearby(lat, lng, radius, limit, category, statusFilter));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/duplicates")
+    public ResponseEntity<?> findDuplicates(
+            @RequestParam("category") String category,
+            @RequestParam("title") String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam(value = "location", required = false) String location,
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_DUPLICATE_LIMIT) int limit) {
+        return ResponseEntity.ok(complaintService.findDuplicates(category, title, description, location, limit));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(statsService.getStats());
+    }
+
+    @GetMapping("/sla")
+    public ResponseEntity<?> getSla(
+            @RequestParam(value = "days", defaultValue = "" + ComplaintSlaService.DEFAULT_WINDOW_DAYS) int days) {
+        try {
+            return ResponseEntity.ok(slaService.getReport(days));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/cache/stats")
+    public ResponseEntity<Map<String, Object>> getCacheStats() {
+        return ResponseEntity.ok(complaintCache.getStats());
+    }
+
     @GetMapping("/test")
     public ResponseEntity<Map<String, String>> test() {
         return ResponseEntity.ok(Map.of("message", "Backend is working"));
@@ -73,7 +334,7 @@ public class ComplaintController {
             User user = getOrCreateDefaultUser();
             
             // Create sample complaints if none exist
-            if (complaintService.getAllComplaints().isEmpty()) {
+            if (!complaintService.hasComplaints()) {
                 complaintService.createComplaint("Broken Street Light", 
                     "Street light on Main Street has been out for 3 days", 
                     "electricity", "Main Street near City Hall", "MEDIUM", null, user);
@@ -102,33 +363,36 @@ public class ComplaintController {
         try {
             User user = getOrCreateDefaultUser();
             
-            List<Complaint> complaints = complaintService.getComplaintsByUser(user);
+            List<ComplaintSummary> complaints = complaintService.getComplaintsByUser(user);
             return ResponseEntity.ok(complaints);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
     
+    /**
+     * Strong validator for a response built from records. Their toString covers every serialized component,
+     * so equal digests mean an identical body; Spring answers a matching If-None-Match with 304 and no body.
+     */
+    private static String etagOf(Object... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     private User getUserByEmail(String userEmail) {
         if (userEmail != null && !userEmail.isEmpty()) {
-            return userService.findByEmail(userEmail)
-                    .orElseGet(() -> {
-                        try {
-                            return userService.createUser(userEmail, "password", "User", null);
-                        } catch (RuntimeException e) {
-                            return userService.findByEmail(userEmail).orElseThrow();
-                        }
-                    });
+            return userService.findOrCreateUser(userEmail, "User");
         }
         
-        return userService.findByEmail("default@example.com")
-                .orElseGet(() -> {
-                    try {
-                        return userService.createUser("default@example.com", "password", "Default User", null);
-                    } catch (RuntimeException e) {
-                        return userService.findByEmail("default@example.com").orElseThrow();
-                    }
-                });
+        return userService.findOrCreateUser("default@example.com", "Default User");
     }
     
     private User getOrCreateDefaultUser() {
@@ -138,7 +402,7 @@ public class ComplaintController {
     @GetMapping("/{id}")
     public ResponseEntity<?> getComplaint(@PathVariable UUID id) {
         return complaintService.getComplaintById(id)
-                .map(ResponseEntity::ok)
+                .<ResponseEntity<?>>map(complaint -> ResponseEntity.ok().eTag(etagOf(complaint)).body(complaint))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -147,17 +411,20 @@ public class ComplaintController {
         try {
             String status = request.get("status");
             Complaint complaint = complaintService.updateComplaintStatus(id, status);
-            return ResponseEntity.ok(complaint);
+            return ResponseEntity.ok(ComplaintDetail.from(complaint));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Map.of("error", e.getMessage()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
 
     @PutMapping("/{id}/upvote")
-    public ResponseEntity<?> upvoteComplaint(@PathVariable UUID id) {
+    public ResponseEntity<?> upvoteComplaint(@PathVariable UUID id,
+                                             @RequestParam(value = "userEmail", required = false) String userEmail) {
         try {
-            Complaint complaint = complaintService.upvoteComplaint(id);
-            return ResponseEntity.ok(complaint);
+            int upvotes = complaintService.upvoteComplaint(id, userEmail);
+            return ResponseEntity.ok(Map.of("id", id, "upvotes", upvotes));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -0,0 +1,122 @@
+package com.complaint.system.controller;
+
+import com.complaint.system.service.PhotoRenderingSaturatedException;
+import com.complaint.system.service.PhotoStorageService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves content-addressed photos. A stored photo is named by the hash of its final bytes and only appears
+ * once completely written, so it is marked immutable and the hash doubles as a strong ETag. Variants are
+ * not content-addressed (their bytes depend on the renderer and the configured size), so they are cached
+ * for a day and then revalidated. Full-body responses are handed to Tomcat's sendfile
+ * support when the connector offers it; range requests go through Spring's resource region handling.
+ * Legacy flat uploads are still served by the static resource handler in {@code WebConfig}.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+public class PhotoController {
+
+    private static final Pattern BLOB_NAME = Pattern.compile("^([0-9a-f]{64})\\.([a-z]+)$");
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+    private static final CacheControl REVALIDATED = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final PhotoStorageService photoStorageService;
+
+    public PhotoController(PhotoStorageService photoStorageService) {
+        this.photoStorageService = photoStorageService;
+    }
+
+    @GetMapping("/uploads/{shard1:[0-9a-f]{2}}/{shard2:[0-9a-f]{2}}/{fileName:.+}")
+    public ResponseEntity<Resource> getPhoto(@PathVariable String shard1,
+                                             @PathVariable String shard2,
+                                             @PathVariable String fileName,
+                                             @RequestParam(value = "variant", required = false) String variant,
+                                             HttpServletRequest request,
+                                             HttpServletResponse response) throws IOException {
+        Matcher matcher = BLOB_NAME.matcher(fileName);
+        if (!matcher.matches() || !matcher.group(1).startsWith(shard1 + shard2)) {
+            return ResponseEntity.notFound().build();
+        }
+        String hash = matcher.group(1);
+        Path original = photoStorageService.getUploadPath().resolve(shard1).resolve(shard2).resolve(fileName);
+
+        Path file = original;
+        String etag = "\"" + hash + "\"";
+        CacheControl cacheControl = IMMUTABLE;
+        if (variant != null && !variant.isEmpty()) {
+            PhotoStorageService.Variant size;
+            try {
+                size = PhotoStorageService.Variant.valueOf(variant.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+            Optional<Path> rendered;
+            try {
+                rendered = photoStorageService.resolveVariant(original, hash, size);
+            } catch (PhotoRenderingSaturatedException e) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").build();
+            }
+            if (rendered.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            file = rendered.get();
+            // Re-rendering replaces the file, so its modification time tells renderings apart
+            etag = "\"" + hash + "-" + size.name().toLowerCase(Locale.ROOT) + "-"
+                    + Files.getLastModifiedTime(file).toMillis() + "\"";
+            cacheControl = REVALIDATED;
+        }
+
+        if (!Files.isRegularFile(file)) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Answers If-None-Match with a bodiless 304 and sets the ETag header either way
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return null;
+        }
+
+        MediaType contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (request.getHeader(HttpHeaders.RANGE) == null && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            long length = Files.size(file);
+            response.setContentType(contentType.toString());
+            response.setContentLengthLong(length);
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(new FileSystemResource(file));
+    }
+}
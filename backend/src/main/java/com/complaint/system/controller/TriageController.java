@@ -0,0 +1,84 @@
+package com.complaint.system.controller;
+
+import com.complaint.system.dto.TriageClaim;
+import com.complaint.system.service.ComplaintService;
+import com.complaint.system.service.ComplaintTriageQueue;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Staff work queue over open complaints. Agents either look at the head of the queue or claim the next
+ * complaint, which leases it to them so no other agent is handed the same one.
+ */
+@CrossOrigin(origins = "*")
+@RestController
+@RequestMapping("/api/complaints/queue")
+public class TriageController {
+
+    public static final int DEFAULT_QUEUE_LIMIT = 20;
+
+    private final ComplaintTriageQueue triageQueue;
+    private final ComplaintService complaintService;
+
+    public TriageController(ComplaintTriageQueue triageQueue, ComplaintService complaintService) {
+        this.triageQueue = triageQueue;
+        this.complaintService = complaintService;
+    }
+
+    @GetMapping
+    public ResponseEntity<?> getQueue(
+            @RequestParam(value = "limit", defaultValue = "" + DEFAULT_QUEUE_LIMIT) int limit) {
+        List<UUID> ids = triageQueue.peek(Math.max(1, Math.min(limit, ComplaintService.MAX_PAGE_SIZE)));
+        return ResponseEntity.ok(complaintService.getSummariesInOrder(ids));
+    }
+
+    @GetMapping("/stats")
+    public ResponseEntity<?> getQueueStats() {
+        return ResponseEntity.ok(Map.of(
+                "open", triageQueue.getTrackedCount(),
+                "unclaimed", triageQueue.getUnclaimedCount()));
+    }
+
+    @PostMapping("/claim")
+    public ResponseEntity<?> claimNext(@RequestParam("agent") String agent) {
+        while (true) {
+            Optional<ComplaintTriageQueue.Lease> lease = triageQueue.claimNext(agent);
+            if (lease.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            UUID id = lease.get().complaintId();
+            Optional<TriageClaim> claim = complaintService.getComplaintById(id)
+                    .filter(complaint -> ComplaintTriageQueue.OPEN_STATUSES.contains(complaint.status()))
+                    .map(complaint -> new TriageClaim(complaint, agent, lease.get().expiresAt()));
+            if (claim.isPresent()) {
+                return ResponseEntity.ok(claim.get());
+            }
+            // Closed or deleted through another instance since the last reconcile; drop it and hand out the next one
+            triageQueue.remove(id);
+        }
+    }
+
+    @PutMapping("/{id}/claim")
+    public ResponseEntity<?> renewClaim(@PathVariable UUID id, @RequestParam("agent") String agent) {
+        return triageQueue.renew(id, agent)
+                .<ResponseEntity<?>>map(lease -> ResponseEntity.ok(Map.of(
+                        "id", id, "agent", agent, "leaseExpiresAt", lease.expiresAt())))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT)
+                        .body(Map.of("error", "Complaint is not claimed by " + agent)));
+    }
+
+    @DeleteMapping("/{id}/claim")
+    public ResponseEntity<?> releaseClaim(@PathVariable UUID id, @RequestParam("agent") String agent) {
+        if (!triageQueue.release(id, agent)) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Map.of("error", "Complaint is not claimed by " + agent));
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
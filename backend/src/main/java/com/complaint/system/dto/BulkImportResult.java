@@ -0,0 +1,33 @@
+package com.complaint.system.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first {@link #MAX_REPORTED_ERRORS} failures are listed so the
+ * response stays small however many records are rejected; {@code rejected} always has the full count.
+ */
+public class BulkImportResult {
+    public static final int MAX_REPORTED_ERRORS = 100;
+
+    private long accepted;
+    private long rejected;
+    private final List<RecordError> errors = new ArrayList<>();
+
+    public void recordAccepted(int count) {
+        accepted += count;
+    }
+
+    public void recordRejected(long recordNumber, String error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new RecordError(recordNumber, error));
+        }
+    }
+
+    public long getAccepted() { return accepted; }
+    public long getRejected() { return rejected; }
+    public List<RecordError> getErrors() { return errors; }
+
+    public record RecordError(long record, String error) {}
+}
@@ -0,0 +1,16 @@
+package com.complaint.system.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the change feed: complaints created or updated after the caller's watermark, in write order,
+ * and tombstones (ids only) for those deleted since. Pass {@code watermark} back as {@code since} to
+ * continue; when {@code hasMore} is set there are further changes to fetch straight away.
+ */
+public record ComplaintChanges(
+        List<ComplaintSummary> changed,
+        List<UUID> deleted,
+        String watermark,
+        boolean hasMore) {
+}
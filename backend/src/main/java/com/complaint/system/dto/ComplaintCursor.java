@@ -0,0 +1,41 @@
+package com.complaint.system.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset position in the complaint listing: the (createdAt, id) of the last row a client has seen,
+ * encoded as URL-safe base64 so it can be passed back verbatim as the {@code cursor} query parameter.
+ * A row without a creation time is encoded with an empty timestamp.
+ */
+public class ComplaintCursor {
+    private final LocalDateTime createdAt;
+    private final UUID id;
+
+    public ComplaintCursor(LocalDateTime createdAt, UUID id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static ComplaintCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            String createdAt = raw.substring(0, separator);
+            return new ComplaintCursor(createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt),
+                                       UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = (createdAt == null ? "" : createdAt.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public UUID getId() { return id; }
+}
@@ -0,0 +1,40 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Response shape for a single complaint. Immutable, so cached instances can be shared between requests
+ * and patched by copying.
+ */
+public record ComplaintDetail(
+        UUID id,
+        String title,
+        String description,
+        String category,
+        String location,
+        Double latitude,
+        Double longitude,
+        Complaint.Status status,
+        Complaint.Priority priority,
+        Integer upvotes,
+        String photoUrl,
+        String userEmail,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+
+    public static ComplaintDetail from(Complaint complaint) {
+        return new ComplaintDetail(complaint.getId(), complaint.getTitle(), complaint.getDescription(),
+                complaint.getCategory(), complaint.getLocation(), complaint.getLatitude(), complaint.getLongitude(),
+                complaint.getStatus(), complaint.getPriority(), complaint.getUpvotes(), complaint.getPhotoUrl(),
+                complaint.getUserEmail(),
+                complaint.getCreatedAt(), complaint.getUpdatedAt());
+    }
+
+    public ComplaintDetail withUpvotes(int newUpvotes) {
+        return new ComplaintDetail(id, title, description, category, location, latitude, longitude, status,
+                priority, newUpvotes, photoUrl, userEmail, createdAt, updatedAt);
+    }
+}
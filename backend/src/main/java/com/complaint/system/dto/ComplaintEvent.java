@@ -0,0 +1,41 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.UUID;
+
+/**
+ * Delta pushed to live subscribers. Only the fields relevant to the event type are set: the full complaint
+ * for {@code CREATED} and {@code STATUS_CHANGED}, the new count for {@code UPVOTED},
+ * and the number of new rows for {@code IMPORTED} (clients should reload their list rather than expect one event per row).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ComplaintEvent(
+        Type type,
+        UUID id,
+        ComplaintDetail complaint,
+        Complaint.Status status,
+        Integer upvotes,
+        Integer count) {
+
+    public enum Type {
+        CREATED, STATUS_CHANGED, UPVOTED, IMPORTED
+    }
+
+    public static ComplaintEvent created(ComplaintDetail complaint) {
+        return new ComplaintEvent(Type.CREATED, complaint.id(), complaint, null, null, null);
+    }
+
+    public static ComplaintEvent statusChanged(ComplaintDetail complaint) {
+        return new ComplaintEvent(Type.STATUS_CHANGED, complaint.id(), complaint, complaint.status(), null, null);
+    }
+
+    public static ComplaintEvent upvoted(UUID id, int upvotes) {
+        return new ComplaintEvent(Type.UPVOTED, id, null, null, upvotes, null);
+    }
+
+    public static ComplaintEvent imported(int count) {
+        return new ComplaintEvent(Type.IMPORTED, null, null, null, null, count);
+    }
+}
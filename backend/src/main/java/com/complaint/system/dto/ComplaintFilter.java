@@ -0,0 +1,39 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+
+import java.time.LocalDateTime;
+
+public class ComplaintFilter {
+    private Complaint.Status status;
+    private String category;
+    private Complaint.Priority priority;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    public ComplaintFilter() {}
+
+    public ComplaintFilter(String status, String category, String priority,
+                           LocalDateTime createdFrom, LocalDateTime createdTo) {
+        this.status = status == null || status.isEmpty() ? null : Complaint.Status.valueOf(status.toUpperCase());
+        this.category = category == null || category.isEmpty() ? null : category;
+        this.priority = priority == null || priority.isEmpty() ? null : Complaint.Priority.valueOf(priority.toUpperCase());
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    public Complaint.Status getStatus() { return status; }
+    public void setStatus(Complaint.Status status) { this.status = status; }
+
+    public String getCategory() { return category; }
+    public void setCategory(String category) { this.category = category; }
+
+    public Complaint.Priority getPriority() { return priority; }
+    public void setPriority(Complaint.Priority priority) { this.priority = priority; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+}
@@ -0,0 +1,16 @@
+package com.complaint.system.dto;
+
+import java.util.List;
+
+public class ComplaintPage<T> {
+    private final List<T> items;
+    private final String nextCursor;
+
+    public ComplaintPage(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+}
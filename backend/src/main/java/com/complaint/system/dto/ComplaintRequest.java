@@ -1,22 +1,40 @@
 package com.complaint.system.dto;
 
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
 
 public class ComplaintRequest {
     @NotBlank
+    @Size(max = 255)
     private String title;
 
     @NotBlank
+    @Size(max = 255)
     private String description;
 
     @NotBlank
+    @Size(max = 255)
     private String category;
 
     @NotBlank
+    @Size(max = 255)
     private String location;
 
+    @DecimalMin("-90.0")
+    @DecimalMax("90.0")
+    private Double latitude;
+
+    @DecimalMin("-180.0")
+    @DecimalMax("180.0")
+    private Double longitude;
+
     private String priority = "MEDIUM";
 
+    @Size(max = 255)
+    private String userEmail;
+
     public ComplaintRequest() {}
 
     public String getTitle() { return title; }
@@ -31,6 +49,15 @@ public class ComplaintRequest {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public String getPriority() { return priority; }
     public void setPriority(String priority) { this.priority = priority; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Row shape for complaint lists. Selected with a JPQL constructor expression, so list queries read only
+ * these columns and never hydrate {@link Complaint} entities or touch the {@code user} association.
+ */
+public record ComplaintSummary(
+        UUID id,
+        String title,
+        String description,
+        String category,
+        String location,
+        Double latitude,
+        Double longitude,
+        Complaint.Status status,
+        Complaint.Priority priority,
+        Integer upvotes,
+        String photoUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt) {
+}
@@ -0,0 +1,14 @@
+package com.complaint.system.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Where a complaint sits in the change feed: the transaction that last wrote it, and when it was deleted
+ * (null while live).
+ */
+public record ComplaintVersion(
+        UUID id,
+        long changeXid,
+        LocalDateTime deletedAt) {
+}
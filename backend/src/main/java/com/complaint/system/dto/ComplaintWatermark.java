@@ -0,0 +1,38 @@
+package com.complaint.system.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque position in the change feed: the (changeXid, id) of the last row a client has seen, encoded as
+ * URL-safe base64 so it can be passed back verbatim as the {@code since} query parameter.
+ */
+public class ComplaintWatermark {
+    private final long changeXid;
+    private final UUID id;
+
+    public ComplaintWatermark(long changeXid, UUID id) {
+        this.changeXid = changeXid;
+        this.id = id;
+    }
+
+    public static ComplaintWatermark decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new ComplaintWatermark(Long.parseLong(raw.substring(0, separator)),
+                                          UUID.fromString(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid watermark");
+        }
+    }
+
+    public String encode() {
+        String raw = changeXid + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public long getChangeXid() { return changeXid; }
+    public UUID getId() { return id; }
+}
@@ -0,0 +1,9 @@
+package com.complaint.system.dto;
+
+/**
+ * An existing open complaint that looks like the same report, with its estimated text similarity (0 to 1).
+ */
+public record DuplicateCandidate(
+        ComplaintSummary complaint,
+        double similarity) {
+}
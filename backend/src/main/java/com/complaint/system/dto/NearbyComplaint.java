@@ -0,0 +1,9 @@
+package com.complaint.system.dto;
+
+/**
+ * A complaint returned by a nearby search, with its great-circle distance from the search point in metres.
+ */
+public record NearbyComplaint(
+        ComplaintSummary complaint,
+        double distanceMeters) {
+}
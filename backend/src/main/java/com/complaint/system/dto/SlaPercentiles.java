@@ -0,0 +1,18 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Duration percentiles, in seconds, for one category (and status, for time-in-status figures) over
+ * {@code count} samples.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SlaPercentiles(
+        String category,
+        Complaint.Status status,
+        long count,
+        double p50Seconds,
+        double p90Seconds,
+        double p99Seconds) {
+}
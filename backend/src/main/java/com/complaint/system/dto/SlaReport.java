@@ -0,0 +1,14 @@
+package com.complaint.system.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service-level figures from the status history since {@code since}: how long complaints stay in each
+ * status, and how long they take from creation to resolution.
+ */
+public record SlaReport(
+        LocalDateTime since,
+        List<SlaPercentiles> timeInStatus,
+        List<SlaPercentiles> timeToResolution) {
+}
@@ -0,0 +1,13 @@
+package com.complaint.system.dto;
+
+import java.time.Instant;
+
+/**
+ * A complaint handed to a staff agent from the triage queue. The agent holds it until the lease expires,
+ * it is released, or the complaint is closed.
+ */
+public record TriageClaim(
+        ComplaintDetail complaint,
+        String agent,
+        Instant leaseExpiresAt) {
+}
@@ -0,0 +1,39 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.UUID;
+
+/**
+ * The fields that decide where an open complaint sits in the triage queue. Ordered most urgent first:
+ * higher priority, then more upvotes, then older; the id breaks remaining ties so no two entries compare equal.
+ * A missing priority or creation time sorts after any present one rather than failing the comparison.
+ */
+public record TriageEntry(
+        UUID id,
+        Complaint.Priority priority,
+        int upvotes,
+        LocalDateTime createdAt) implements Comparable<TriageEntry> {
+
+    private static final Comparator<TriageEntry> URGENCY = Comparator
+            .comparing(TriageEntry::priority, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(TriageEntry::upvotes, Comparator.reverseOrder())
+            .thenComparing(TriageEntry::createdAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(TriageEntry::id);
+
+    public static TriageEntry from(Complaint complaint) {
+        return new TriageEntry(complaint.getId(), complaint.getPriority(),
+                complaint.getUpvotes() == null ? 0 : complaint.getUpvotes(), complaint.getCreatedAt());
+    }
+
+    public TriageEntry withUpvotes(int newUpvotes) {
+        return new TriageEntry(id, priority, newUpvotes, createdAt);
+    }
+
+    @Override
+    public int compareTo(TriageEntry other) {
+        return URGENCY.compare(this, other);
+    }
+}
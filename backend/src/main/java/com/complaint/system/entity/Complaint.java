@@ -29,6 +29,10 @@ public class Complaint {
     @NotBlank
     private String location;
 
+    private Double latitude;
+
+    private Double longitude;
+
     @Enumerated(EnumType.STRING)
     private Status status = Status.PENDING;
 
@@ -56,8 +60,28 @@ public class Complaint {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Set instead of deleting the row, so the change feed can report the deletion
+    @Column(name = "deleted_at")
+    private LocalDateTime deletedAt;
+
+    // Id of the transaction that last wrote the row, stamped by a database trigger; orders the change feed
+    @Column(name = "change_xid", insertable = false, updatable = false)
+    private Long changeXid;
+
     public enum Status {
-        PENDING, IN_PROGRESS, RESOLVED, REJECTED
+        PENDING, IN_PROGRESS, RESOLVED, REJECTED;
+
+        /**
+         * Allowed moves: open complaints can go anywhere; a resolved or rejected one can only be reopened
+         * as in progress, so the time it spent closed stays visible in its history.
+         */
+        public boolean canTransitionTo(Status next) {
+            return switch (this) {
+                case PENDING -> next == IN_PROGRESS || next == RESOLVED || next == REJECTED;
+                case IN_PROGRESS -> next == PENDING || next == RESOLVED || next == REJECTED;
+                case RESOLVED, REJECTED -> next == IN_PROGRESS;
+            };
+        }
     }
 
     public enum Priority {
@@ -92,6 +116,12 @@ public class Complaint {
     public String getLocation() { return location; }
     public void setLocation(String location) { this.location = location; }
 
+    public Double getLatitude() { return latitude; }
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    public Double getLongitude() { return longitude; }
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
     public Status getStatus() { return status; }
     public void setStatus(Status status) { this.status = status; }
 
@@ -113,6 +143,11 @@ public class Complaint {
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+
+    public Long getChangeXid() { return changeXid; }
+
     public String getPhotoUrl() { return photoUrl; }
     public void setPhotoUrl(String photoUrl) { this.photoUrl = photoUrl; }
 }
\ No newline at end of file
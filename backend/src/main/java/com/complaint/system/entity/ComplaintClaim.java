@@ -0,0 +1,37 @@
+package com.complaint.system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * A triage lease: which staff agent holds an open complaint, and until when. One row per complaint; an
+ * expired row is simply taken over by the next claim.
+ */
+@Entity
+@Table(name = "complaint_claims")
+public class ComplaintClaim {
+    @Id
+    @Column(name = "complaint_id")
+    private UUID complaintId;
+
+    @Column(nullable = false)
+    private String agent;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    // Constructors
+    public ComplaintClaim() {}
+
+    // Getters and Setters
+    public UUID getComplaintId() { return complaintId; }
+    public void setComplaintId(UUID complaintId) { this.complaintId = complaintId; }
+
+    public String getAgent() { return agent; }
+    public void setAgent(String agent) { this.agent = agent; }
+
+    public Instant getExpiresAt() { return expiresAt; }
+    public void setExpiresAt(Instant expiresAt) { this.expiresAt = expiresAt; }
+}
@@ -0,0 +1,56 @@
+package com.complaint.system.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "complaint_status_events")
+public class ComplaintStatusEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private UUID complaintId;
+
+    // Null on the event that records the complaint's creation
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private Complaint.Status fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status", nullable = false)
+    private Complaint.Status toStatus;
+
+    @Column(name = "changed_at", nullable = false)
+    private LocalDateTime changedAt;
+
+    // Constructors
+    public ComplaintStatusEvent() {}
+
+    public ComplaintStatusEvent(UUID complaintId, Complaint.Status fromStatus, Complaint.Status toStatus,
+                                LocalDateTime changedAt) {
+        this.complaintId = complaintId;
+        this.fromStatus = fromStatus;
+        this.toStatus = toStatus;
+        this.changedAt = changedAt;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getComplaintId() { return complaintId; }
+    public void setComplaintId(UUID complaintId) { this.complaintId = complaintId; }
+
+    public Complaint.Status getFromStatus() { return fromStatus; }
+    public void setFromStatus(Complaint.Status fromStatus) { this.fromStatus = fromStatus; }
+
+    public Complaint.Status getToStatus() { return toStatus; }
+    public void setToStatus(Complaint.Status toStatus) { this.toStatus = toStatus; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
@@ -0,0 +1,48 @@
+package com.complaint.system.entity;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "complaint_upvotes",
+       uniqueConstraints = @UniqueConstraint(name = "uk_complaint_upvotes_complaint_user",
+                                             columnNames = {"complaint_id", "user_email"}))
+public class ComplaintUpvote {
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(name = "complaint_id", nullable = false)
+    private UUID complaintId;
+
+    @Column(name = "user_email", nullable = false)
+    private String userEmail;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ComplaintUpvote() {}
+
+    public ComplaintUpvote(UUID complaintId, String userEmail) {
+        this.complaintId = complaintId;
+        this.userEmail = userEmail;
+    }
+
+    // Getters and Setters
+    public UUID getId() { return id; }
+    public void setId(UUID id) { this.id = id; }
+
+    public UUID getComplaintId() { return complaintId; }
+    public void setComplaintId(UUID complaintId) { this.complaintId = complaintId; }
+
+    public String getUserEmail() { return userEmail; }
+    public void setUserEmail(String userEmail) { this.userEmail = userEmail; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,57 @@
+package com.complaint.system.repository;
+
+import com.complaint.system.entity.ComplaintClaim;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ComplaintClaimRepository extends JpaRepository<ComplaintClaim, UUID> {
+
+    /**
+     * Leases a complaint to {@code agent} unless someone holds an unexpired lease on it, in one statement, so
+     * of two instances claiming the same complaint only one succeeds. Returns 0 when it is already held.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO complaint_claims (complaint_id, agent, expires_at) " +
+                   "VALUES (:complaintId, :agent, :expiresAt) " +
+                   "ON CONFLICT (complaint_id) DO UPDATE SET agent = EXCLUDED.agent, expires_at = EXCLUDED.expires_at " +
+                   "WHERE complaint_claims.expires_at <= :now",
+           nativeQuery = true)
+    int claim(@Param("complaintId") UUID complaintId,
+              @Param("agent") String agent,
+              @Param("expiresAt") Instant expiresAt,
+              @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE ComplaintClaim c SET c.expiresAt = :expiresAt " +
+           "WHERE c.complaintId = :complaintId AND c.agent = :agent AND c.expiresAt > :now")
+    int renew(@Param("complaintId") UUID complaintId,
+              @Param("agent") String agent,
+              @Param("expiresAt") Instant expiresAt,
+              @Param("now") Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ComplaintClaim c " +
+           "WHERE c.complaintId = :complaintId AND c.agent = :agent AND c.expiresAt > :now")
+    int release(@Param("complaintId") UUID complaintId,
+                @Param("agent") String agent,
+                @Param("now") Instant now);
+
+    List<ComplaintClaim> findByExpiresAtAfter(Instant now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ComplaintClaim c WHERE c.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
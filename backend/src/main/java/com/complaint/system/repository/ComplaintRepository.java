@@ -1,16 +1,193 @@
 package com.complaint.system.repository;
 
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintSummary;
+import com.complaint.system.dto.ComplaintVersion;
+import com.complaint.system.dto.TriageEntry;
 import com.complaint.system.entity.Complaint;
 import com.complaint.system.entity.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ComplaintRepository extends JpaRepository<Complaint, UUID> {
+
+    String SUMMARY_SELECT = "SELECT new com.complaint.system.dto.ComplaintSummary(" +
+            "c.id, c.title, c.description, c.category, c.location, c.latitude, c.longitude, c.status, c.priority, " +
+            "c.upvotes, c.photoUrl, c.createdAt, c.updatedAt) FROM Complaint c ";
+
+    String DETAIL_SELECT = "SELECT new com.complaint.system.dto.ComplaintDetail(" +
+            "c.id, c.title, c.description, c.category, c.location, c.latitude, c.longitude, c.status, c.priority, " +
+            "c.upvotes, c.photoUrl, c.userEmail, c.createdAt, c.updatedAt) FROM Complaint c ";
+
     List<Complaint> findByUser(User user);
     List<Complaint> findByStatus(Complaint.Status status);
     List<Complaint> findByCategory(String category);
+
+    /**
+     * Keyset page over live complaints ordered newest first. Every filter is optional (null means "any");
+     * the cursor pair is the (createdAt, id) of the last row of the previous page, or null for the first page.
+     * Rows without a creation time sort first (PostgreSQL puts nulls first in descending order), so a cursor
+     * on one of them continues with the remaining undated rows and then every dated one.
+     * The PostgreSQL driver sends null timestamps without a type, so the optional ones are cast before the
+     * IS NULL test; otherwise the server cannot plan the statement.
+     */
+    @Query(SUMMARY_SELECT +
+           "WHERE c.deletedAt IS NULL " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:category IS NULL OR c.category = :category) " +
+           "AND (:priority IS NULL OR c.priority = :priority) " +
+           "AND (CAST(:createdFrom AS LocalDateTime) IS NULL OR c.createdAt >= :createdFrom) " +
+           "AND (CAST(:createdTo AS LocalDateTime) IS NULL OR c.createdAt < :createdTo) " +
+           "AND (CAST(:cursorId AS String) IS NULL OR c.createdAt < :cursorCreatedAt " +
+           "     OR (c.createdAt = :cursorCreatedAt AND c.id < :cursorId) " +
+           "     OR (CAST(:cursorCreatedAt AS LocalDateTime) IS NULL AND (c.createdAt IS NOT NULL OR c.id < :cursorId))) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<ComplaintSummary> findPage(@Param("status") Complaint.Status status,
+                             @Param("category") String category,
+                             @Param("priority") Complaint.Priority priority,
+                             @Param("createdFrom") LocalDateTime createdFrom,
+                             @Param("createdTo") LocalDateTime createdTo,
+                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                             @Param("cursorId") UUID cursorId,
+                             Limit limit);
+
+    /**
+     * Server-side cursor over every live complaint matching the filters, oldest first. Must be consumed inside a
+     * transaction (PostgreSQL only honours the fetch size with auto-commit off) and closed afterwards.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(DETAIL_SELECT +
+           "WHERE c.deletedAt IS NULL " +
+           "AND (:status IS NULL OR c.status = :status) " +
+           "AND (:category IS NULL OR c.category = :category) " +
+           "AND (:priority IS NULL OR c.priority = :priority) " +
+           "AND (CAST(:createdFrom AS LocalDateTime) IS NULL OR c.createdAt >= :createdFrom) " +
+           "AND (CAST(:createdTo AS LocalDateTime) IS NULL OR c.createdAt < :createdTo) " +
+           "ORDER BY c.createdAt, c.id")
+    Stream<ComplaintDetail> streamForExport(@Param("status") Complaint.Status status,
+                                            @Param("category") String category,
+                                            @Param("priority") Complaint.Priority priority,
+                                            @Param("createdFrom") LocalDateTime createdFrom,
+                                            @Param("createdTo") LocalDateTime createdTo);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY_SELECT + "WHERE c.deletedAt IS NULL AND c.status IN :statuses")
+    Stream<ComplaintSummary> streamByStatusIn(@Param("statuses") Collection<Complaint.Status> statuses);
+
+    @Query("SELECT new com.complaint.system.dto.TriageEntry(c.id, c.priority, c.upvotes, c.createdAt) " +
+           "FROM Complaint c WHERE c.deletedAt IS NULL AND c.status IN :statuses")
+    List<TriageEntry> findTriageEntries(@Param("statuses") Collection<Complaint.Status> statuses);
+
+    @Query(SUMMARY_SELECT + "WHERE c.deletedAt IS NULL AND c.user = :user ORDER BY c.createdAt DESC, c.id DESC")
+    List<ComplaintSummary> findSummariesByUser(@Param("user") User user);
+
+    @Query(SUMMARY_SELECT + "WHERE c.deletedAt IS NULL AND c.id IN :ids")
+    List<ComplaintSummary> findSummariesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query(DETAIL_SELECT + "WHERE c.deletedAt IS NULL AND c.id = :id")
+    Optional<ComplaintDetail> findDetailById(@Param("id") UUID id);
+
+    /**
+     * Increments the counter in the database so concurrent votes serialize on the row lock instead of
+     * overwriting each other. {@code now} comes from the application clock, like every other updatedAt.
+     * Returns the number of rows updated (0 when the complaint does not exist or has been deleted).
+     */
+    @Modifying
+    @Query("UPDATE Complaint c SET c.upvotes = c.upvotes + 1, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.deletedAt IS NULL")
+    int incrementUpvotes(@Param("id") UUID id, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves a live complaint from {@code previous} to {@code status} without writing back any other column, so
+     * it cannot undo an upvote or deletion that committed after the complaint was read. The status test makes
+     * it a compare-and-set: of two concurrent changes from the same status only one updates the row. Clears the
+     * persistence context, since entities loaded before the update no longer match the row. Returns 0 when
+     * there is no live complaint with that id or its status is no longer {@code previous}.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Complaint c SET c.status = :status, c.updatedAt = :now " +
+           "WHERE c.id = :id AND c.deletedAt IS NULL " +
+           "AND (c.status = :previous OR (:previous IS NULL AND c.status IS NULL))")
+    int updateStatus(@Param("id") UUID id, @Param("previous") Complaint.Status previous,
+                     @Param("status") Complaint.Status status, @Param("now") LocalDateTime now);
+
+    @Query("SELECT c.upvotes FROM Complaint c WHERE c.id = :id AND c.deletedAt IS NULL")
+    Optional<Integer> findUpvotesById(@Param("id") UUID id);
+
+    @Query("SELECT c.status, c.category, c.priority, COUNT(c) FROM Complaint c WHERE c.deletedAt IS NULL " +
+           "GROUP BY c.status, c.category, c.priority")
+    List<Object[]> countByStatusCategoryPriority();
+
+    /**
+     * Ranked full-text search over the GIN-indexed {@code search_vector} column, returning ids in rank order.
+     * {@code query} must already be in {@code to_tsquery} syntax; see {@code ComplaintService.searchComplaints}.
+     * {@code category} and {@code status} are optional (null means "any").
+     */
+    @Query(value = "SELECT c.id FROM complaints c, to_tsquery('english', :query) q " +
+                   "WHERE c.search_vector @@ q AND c.deleted_at IS NULL " +
+                   "AND (CAST(:category AS text) IS NULL OR c.category = CAST(:category AS text)) " +
+                   "AND (CAST(:status AS text) IS NULL OR c.status = CAST(:status AS text)) " +
+                   "ORDER BY ts_rank_cd(c.search_vector, q) DESC, c.created_at DESC, c.id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<UUID> search(@Param("query") String query, @Param("category") String category,
+                      @Param("status") String status, @Param("limit") int limit, @Param("offset") int offset);
+
+    /**
+     * Complaints whose coordinates fall inside the box, nearest to (lon, lat) first, as (id, latitude, longitude)
+     * rows. Both the box test and the ordering are served by the GiST index on {@code point(longitude, latitude)};
+     * the ordering is planar in degrees, so callers over-fetch and apply the exact great-circle distance.
+     */
+    @Query(value = "SELECT c.id, c.latitude, c.longitude FROM complaints c " +
+                   "WHERE c.latitude IS NOT NULL AND c.longitude IS NOT NULL AND c.deleted_at IS NULL " +
+                   "AND point(c.longitude, c.latitude) <@ box(point(:minLon, :minLat), point(:maxLon, :maxLat)) " +
+                   "AND (CAST(:category AS text) IS NULL OR c.category = CAST(:category AS text)) " +
+                   "AND (CAST(:status AS text) IS NULL OR c.status = CAST(:status AS text)) " +
+                   "ORDER BY point(c.longitude, c.latitude) <-> point(:lon, :lat) " +
+                   "LIMIT :limit",
+           nativeQuery = true)
+    List<Object[]> findNearby(@Param("lat") double lat, @Param("lon") double lon,
+                              @Param("minLat") double minLat, @Param("minLon") double minLon,
+                              @Param("maxLat") double maxLat, @Param("maxLon") double maxLon,
+                              @Param("category") String category, @Param("status") String status,
+                              @Param("limit") int limit);
+
+    /**
+     * The oldest transaction id still running when the current snapshot was taken. Every transaction below it
+     * has ended, so rows with a lower {@code changeXid} cannot be joined by new ones.
+     */
+    @Query(value = "SELECT CAST(CAST(pg_snapshot_xmin(pg_current_snapshot()) AS text) AS bigint)", nativeQuery = true)
+    long findChangeHorizon();
+
+    /**
+     * Keyset page of (id, changeXid, deletedAt) for rows written after the (changeXid, id) position and below
+     * {@code horizon}, in write order. Deleted rows are included so callers can report them. The redundant
+     * {@code changeXid >= :sinceXid} bound lets the planner read a range of the (change_xid, id) index.
+     */
+    @Query("SELECT new com.complaint.system.dto.ComplaintVersion(c.id, c.changeXid, c.deletedAt) FROM Complaint c " +
+           "WHERE c.changeXid >= :sinceXid AND c.changeXid < :horizon " +
+           "AND (c.changeXid > :sinceXid OR c.id > :sinceId) " +
+           "ORDER BY c.changeXid, c.id")
+    List<ComplaintVersion> findChangedSince(@Param("sinceXid") long sinceXid,
+                                            @Param("sinceId") UUID sinceId,
+                                            @Param("horizon") long horizon,
+                                            Limit limit);
 }
\ No newline at end of file
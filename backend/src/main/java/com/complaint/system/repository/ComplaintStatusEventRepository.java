@@ -0,0 +1,55 @@
+package com.complaint.system.repository;
+
+import com.complaint.system.entity.ComplaintStatusEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ComplaintStatusEventRepository extends JpaRepository<ComplaintStatusEvent, UUID> {
+
+    /**
+     * Percentiles of the time complaints spent in each status, per category, as (category, status, count,
+     * p50, p90, p99) rows in seconds. A stay runs from one event to the complaint's next one (LEAD over its
+     * history), so only stays that began after {@code since} and have already ended are counted.
+     */
+    @Query(value = "SELECT c.category, s.status, COUNT(*), " +
+                   "percentile_cont(0.5) WITHIN GROUP (ORDER BY s.seconds), " +
+                   "percentile_cont(0.9) WITHIN GROUP (ORDER BY s.seconds), " +
+                   "percentile_cont(0.99) WITHIN GROUP (ORDER BY s.seconds) " +
+                   "FROM (SELECT e.complaint_id, e.to_status AS status, " +
+                   "      CAST(EXTRACT(EPOCH FROM LEAD(e.changed_at) OVER " +
+                   "          (PARTITION BY e.complaint_id ORDER BY e.changed_at, e.id) - e.changed_at) AS double precision) AS seconds " +
+                   "      FROM complaint_status_events e WHERE e.changed_at >= :since) s " +
+                   "JOIN complaints c ON c.id = s.complaint_id " +
+                   "WHERE s.seconds IS NOT NULL AND c.deleted_at IS NULL " +
+                   "GROUP BY c.category, s.status " +
+                   "ORDER BY c.category, s.status",
+           nativeQuery = true)
+    List<Object[]> findTimeInStatusPercentiles(@Param("since") LocalDateTime since);
+
+    /**
+     * Percentiles of the time from creation to first resolution, per category, as (category, count, p50,
+     * p90, p99) rows in seconds, over complaints created after {@code since} that have been resolved.
+     */
+    @Query(value = "SELECT c.category, COUNT(*), " +
+                   "percentile_cont(0.5) WITHIN GROUP (ORDER BY r.seconds), " +
+                   "percentile_cont(0.9) WITHIN GROUP (ORDER BY r.seconds), " +
+                   "percentile_cont(0.99) WITHIN GROUP (ORDER BY r.seconds) " +
+                   "FROM (SELECT e.complaint_id, " +
+                   "      CAST(EXTRACT(EPOCH FROM MIN(e.changed_at) FILTER (WHERE e.to_status = 'RESOLVED') " +
+                   "          - MIN(e.changed_at) FILTER (WHERE e.from_status IS NULL)) AS double precision) AS seconds " +
+                   "      FROM complaint_status_events e WHERE e.changed_at >= :since " +
+                   "      GROUP BY e.complaint_id) r " +
+                   "JOIN complaints c ON c.id = r.complaint_id " +
+                   "WHERE r.seconds IS NOT NULL AND c.deleted_at IS NULL " +
+                   "GROUP BY c.category " +
+                   "ORDER BY c.category",
+           nativeQuery = true)
+    List<Object[]> findTimeToResolutionPercentiles(@Param("since") LocalDateTime since);
+}
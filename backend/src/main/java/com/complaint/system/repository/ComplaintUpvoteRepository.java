@@ -0,0 +1,28 @@
+package com.complaint.system.repository;
+
+import com.complaint.system.entity.ComplaintUpvote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.UUID;
+
+@Repository
+public interface ComplaintUpvoteRepository extends JpaRepository<ComplaintUpvote, UUID> {
+
+    /**
+     * Records a vote in a single round-trip, relying on the (complaint_id, user_email) unique key
+     * instead of a read-then-insert. Returns 0 when the user already voted or the complaint does not exist.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO complaint_upvotes (id, complaint_id, user_email, created_at) " +
+                   "SELECT :voteId, c.id, :userEmail, CURRENT_TIMESTAMP FROM complaints c " +
+                   "WHERE c.id = :complaintId AND c.deleted_at IS NULL " +
+                   "ON CONFLICT (complaint_id, user_email) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("voteId") UUID voteId,
+                       @Param("complaintId") UUID complaintId,
+                       @Param("userEmail") String userEmail);
+}
@@ -0,0 +1,55 @@
+package com.complaint.system.repository;
+
+import com.complaint.system.entity.PhotoBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PhotoBlobRepository extends JpaRepository<PhotoBlob, String> {
+
+    /**
+     * Registers one more reference to a blob, creating its row on first use, in a single statement.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO photo_blobs (hash, relative_path, content_type, size_bytes, ref_count, created_at, updated_at) " +
+                   "VALUES (:hash, :relativePath, :contentType, :sizeBytes, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (hash) DO UPDATE SET ref_count = photo_blobs.ref_count + 1, updated_at = CURRENT_TIMESTAMP",
+           nativeQuery = true)
+    int acquire(@Param("hash") String hash,
+                @Param("relativePath") String relativePath,
+                @Param("contentType") String contentType,
+                @Param("sizeBytes") long sizeBytes);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE PhotoBlob b SET b.refCount = b.refCount - 1, b.updatedAt = CURRENT_TIMESTAMP " +
+           "WHERE b.hash = :hash AND b.refCount > 0")
+    int release(@Param("hash") String hash);
+
+    @Query("SELECT b FROM PhotoBlob b WHERE b.refCount <= 0 AND b.updatedAt < :before")
+    List<PhotoBlob> findUnreferenced(@Param("before") LocalDateTime before);
+
+    /**
+     * Locks a blob row that is still unreferenced, so that {@link #acquire} and {@link #release} on it wait
+     * until the calling transaction ends. Empty when the blob is gone or has been referenced again.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM PhotoBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    Optional<PhotoBlob> lockIfUnreferenced(@Param("hash") String hash);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM PhotoBlob b WHERE b.hash = :hash AND b.refCount <= 0")
+    int deleteIfUnreferenced(@Param("hash") String hash);
+}
@@ -2,8 +2,14 @@ package com.complaint.system.repository;
 
 import com.complaint.system.entity.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -11,4 +17,18 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
+    List<User> findByEmailIn(Collection<String> emails);
+
+    /**
+     * Registers every email that has no user yet, all with the same password hash, in one statement. Emails
+     * registered concurrently (or already present) are skipped rather than failing the whole insert.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO users (id, email, password, full_name, created_at, updated_at) " +
+                   "SELECT gen_random_uuid(), email, :password, 'User', LOCALTIMESTAMP, LOCALTIMESTAMP " +
+                   "FROM unnest(CAST(:emails AS varchar[])) AS email " +
+                   "ON CONFLICT (email) DO NOTHING",
+           nativeQuery = true)
+    int insertMissing(@Param("emails") String[] emails, @Param("password") String password);
 }
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.complaint.system.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Read-through helper for Caffeine {@link AsyncCache}s that runs the loader on the calling thread but
+ * outside the cache's internal map lock. Only a placeholder future is installed under the lock, so a slow
+ * (JDBC) load never pins a virtual thread's carrier, and concurrent callers for the same key still wait
+ * on that single load instead of issuing their own.
+ */
+final class CacheLoads {
+
+    private CacheLoads() {}
+
+    /**
+     * Returns the cached value or loads it. A {@code null} result is returned to every waiting caller but
+     * is not cached.
+     */
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> pending = new CompletableFuture<>();
+        CompletableFuture<V> future = cache.get(key, (k, executor) -> pending);
+        if (future == pending) {
+            try {
+                pending.complete(loader.apply(key));
+            } catch (RuntimeException e) {
+                pending.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return join(future);
+    }
+
+    static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.BulkImportResult;
+import com.complaint.system.dto.ComplaintRequest;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.User;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+/**
+ * Streams complaint records from an NDJSON or CSV body and inserts them in fixed-size chunks. Each chunk
+ * resolves its users with one query and is written in one JDBC-batched transaction, so memory depends on
+ * the chunk size rather than the size of the upload. Invalid records are reported and skipped.
+ */
+@Service
+public class ComplaintBulkImportService {
+
+    public static final String DEFAULT_EMAIL = "default@example.com";
+
+    private final ComplaintService complaintService;
+    private final UserService userService;
+    private final PasswordHashingService passwordHashingService;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public ComplaintBulkImportService(ComplaintService complaintService,
+                                      UserService userService,
+                                      PasswordHashingService passwordHashingService,
+                                      ObjectMapper objectMapper,
+                                      Validator validator,
+                                      @Value("${complaints.bulk.chunk-size:500}") int chunkSize) {
+        this.complaintService = complaintService;
+        this.userService = userService;
+        this.passwordHashingService = passwordHashingService;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    public BulkImportResult importNdjson(InputStream body) throws IOException {
+        Chunker chunker = new Chunker();
+        try (MappingIterator<ComplaintRequest> records = objectMapper.readerFor(ComplaintRequest.class).readValues(body)) {
+            long recordNumber = 0;
+            while (true) {
+                recordNumber++;
+                ComplaintRequest request;
+                try {
+                    if (!records.hasNextValue()) {
+                        break;
+                    }
+                    request = records.nextValue();
+                } catch (IOException | RuntimeException e) {
+                    // A malformed line poisons the parser state, so stop here and report what was imported
+                    chunker.result.recordRejected(recordNumber, "Malformed JSON: " + e.getMessage());
+                    break;
+                }
+                chunker.add(recordNumber, request);
+            }
+        }
+        return chunker.finish();
+    }
+
+    /**
+     * Imports CSV with a header row naming the columns (title, description, category, location, priority,
+     * userEmail, in any order; priority and userEmail are optional).
+     */
+    public BulkImportResult importCsv(InputStream body) throws IOException {
+        Chunker chunker = new Chunker();
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)));
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            return chunker.finish();
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        long recordNumber = 0;
+        List<String> row;
+        while ((row = csv.readRecord()) != null) {
+            recordNumber++;
+            ComplaintRequest request = new ComplaintRequest();
+            request.setTitle(column(row, columns, "title"));
+            request.setDescription(column(row, columns, "description"));
+            request.setCategory(column(row, columns, "category"));
+            request.setLocation(column(row, columns, "location"));
+            String priority = column(row, columns, "priority");
+            if (priority != null && !priority.isEmpty()) {
+                request.setPriority(priority);
+            }
+            request.setUserEmail(column(row, columns, "useremail"));
+            try {
+                request.setLatitude(coordinate(column(row, columns, "latitude")));
+                request.setLongitude(coordinate(column(row, columns, "longitude")));
+            } catch (NumberFormatException e) {
+                chunker.result.recordRejected(recordNumber, "latitude and longitude must be numbers");
+                continue;
+            }
+            chunker.add(recordNumber, request);
+        }
+        return chunker.finish();
+    }
+
+    private static Double coordinate(String value) {
+        return value == null || value.isBlank() ? null : Double.valueOf(value.trim());
+    }
+
+    private static String column(List<String> row, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        return index == null || index >= row.size() ? null : row.get(index);
+    }
+
+    private class Chunker {
+        final BulkImportResult result = new BulkImportResult();
+        final List<Long> recordNumbers = new ArrayList<>(chunkSize);
+        final List<ComplaintRequest> requests = new ArrayList<>(chunkSize);
+        String importPasswordHash;
+
+        void add(long recordNumber, ComplaintRequest request) {
+            String error = validate(request);
+            if (error != null) {
+                result.recordRejected(recordNumber, error);
+                return;
+            }
+            recordNumbers.add(recordNumber);
+            requests.add(request);
+            if (requests.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        BulkImportResult finish() {
+            flush();
+            return result;
+        }
+
+        private void flush() {
+            if (requests.isEmpty()) {
+                return;
+            }
+            // Outside the try: a saturated hashing pool fails the whole import (503), not each record in turn.
+            // The hash is taken on the first flush, so nothing has been imported when it fails
+            String passwordHash = passwordHash();
+            try {
+                Set<String> emails = requests.stream().map(ComplaintBulkImportService::emailOf)
+                        .collect(Collectors.toCollection(LinkedHashSet::new));
+                Map<String, User> users = userService.findOrCreateUsers(emails, passwordHash);
+
+                List<Complaint> complaints = new ArrayList<>(requests.size());
+                for (ComplaintRequest request : requests) {
+                    Complaint complaint = new Complaint(request.getTitle(), request.getDescription(),
+                            request.getCategory(), request.getLocation(), users.get(emailOf(request)));
+                    complaint.setPriority(Complaint.Priority.valueOf(request.getPriority().toUpperCase(Locale.ROOT)));
+                    complaint.setLatitude(request.getLatitude());
+                    complaint.setLongitude(request.getLongitude());
+                    complaints.add(complaint);
+                }
+                complaintService.createComplaints(complaints);
+                result.recordAccepted(complaints.size());
+            } catch (RuntimeException e) {
+                for (Long recordNumber : recordNumbers) {
+                    result.recordRejected(recordNumber, "Batch insert failed: " + e.getMessage());
+                }
+            } finally {
+                recordNumbers.clear();
+                requests.clear();
+            }
+        }
+
+        /**
+         * Users created by an import get one shared hash of a random password: nobody can log in with it,
+         * and it costs a single BCrypt round per import instead of one per new user.
+         */
+        private String passwordHash() {
+            if (importPasswordHash == null) {
+                try {
+                    importPasswordHash = passwordHashingService.encode(UUID.randomUUID().toString()).join();
+                } catch (CompletionException e) {
+                    throw e.getCause() instanceof RuntimeException cause ? cause : e;
+                }
+            }
+            return importPasswordHash;
+        }
+    }
+
+    private String validate(ComplaintRequest request) {
+        Set<ConstraintViolation<ComplaintRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        try {
+            Complaint.Priority.valueOf(request.getPriority().toUpperCase(Locale.ROOT));
+        } catch (RuntimeException e) {
+            return "priority must be one of LOW, MEDIUM, HIGH";
+        }
+        if ((request.getLatitude() == null) != (request.getLongitude() == null)) {
+            return "latitude and longitude must be given together";
+        }
+        return null;
+    }
+
+    private static String emailOf(ComplaintRequest request) {
+        String email = request.getUserEmail();
+        return email == null || email.isBlank() ? DEFAULT_EMAIL : email.trim();
+    }
+}
@@ -0,0 +1,70 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.ComplaintDetail;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Bounded in-process cache of complaints by id (Caffeine, W-TinyLFU eviction). Writers keep it coherent by
+ * replacing or patching entries rather than evicting them, so a heavily upvoted complaint stays cached.
+ */
+@Component
+public class ComplaintCache {
+
+    private final AsyncCache<UUID, ComplaintDetail> cache;
+
+    public ComplaintCache(@Value("${complaints.cache.maximum-size:10000}") long maximumSize,
+                          @Value("${complaints.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .buildAsync();
+    }
+
+    public Optional<ComplaintDetail> get(UUID id, Function<UUID, Optional<ComplaintDetail>> loader) {
+        return Optional.ofNullable(CacheLoads.getOrLoad(cache, id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public void put(ComplaintDetail complaint) {
+        cache.put(complaint.id(), CompletableFuture.completedFuture(complaint));
+    }
+
+    /**
+     * Patches the upvote count of a cached complaint. Counts only grow, so a patch from an upvote that
+     * committed earlier but arrives late is ignored.
+     */
+    public void updateUpvotes(UUID id, int upvotes) {
+        cache.synchronous().asMap().computeIfPresent(id,
+                (key, complaint) -> complaint.upvotes() != null && complaint.upvotes() >= upvotes
+                        ? complaint : complaint.withUpvotes(upvotes));
+    }
+
+    public Cache<UUID, ComplaintDetail> getNativeCache() {
+        return cache.synchronous();
+    }
+
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.synchronous().estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictions", stats.evictionCount());
+        result.put("averageLoadMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+}
@@ -0,0 +1,201 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.ComplaintSummary;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Locality-sensitive hash index over the text of open complaints, partitioned by category, used to spot a
+ * new complaint that repeats an existing one. Each complaint's MinHash signature is filed under one bucket
+ * per band (see {@link MinHash}); a lookup only compares against complaints sharing a bucket, so its cost
+ * depends on the number of similar complaints rather than the size of the table.
+ *
+ * <p>The index is updated as this instance creates and closes complaints, and {@link #reconcile()} picks up
+ * those created or closed through other instances. All changes to one complaint go through
+ * {@link ConcurrentMap#compute} on its signature, so a reconcile and a local change cannot interleave.
+ */
+@Service
+public class ComplaintDuplicateIndex {
+
+    public record Match(UUID id, double similarity) {}
+
+    // version orders local changes, so a reconcile does not undo one made while it was reading
+    private record Indexed(String category, int[] signature, long version) {}
+
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double similarityThreshold;
+    private final ConcurrentMap<UUID, Indexed> signatures = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, ConcurrentMap<Long, Set<UUID>>> bucketsByCategory = new ConcurrentHashMap<>();
+    // Complaints closed locally since the last reconcile began, and when
+    private final ConcurrentMap<UUID, Long> removals = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public ComplaintDuplicateIndex(ComplaintRepository complaintRepository,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${complaints.duplicates.similarity-threshold:0.6}") double similarityThreshold) {
+        this.complaintRepository = complaintRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.similarityThreshold = similarityThreshold;
+    }
+
+    /**
+     * Brings the index in line with the open complaints in the database: indexes those opened through other
+     * instances and drops those closed elsewhere. Complaints indexed or closed locally while the query ran
+     * are left alone; that change is newer than what was read. Only new complaints are hashed, so a pass
+     * mostly costs the scan of open complaints.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${complaints.duplicates.reconcile-interval:PT5M}",
+               initialDelayString = "${complaints.duplicates.reconcile-interval:PT5M}")
+    public void reconcile() {
+        long readAt = versions.get();
+        Set<UUID> open = new HashSet<>();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<ComplaintSummary> complaints = complaintRepository.streamByStatusIn(ComplaintTriageQueue.OPEN_STATUSES)) {
+                complaints.forEach(c -> {
+                    open.add(c.id());
+                    if (!signatures.containsKey(c.id())) {
+                        add(c.id(), c.category(), c.title(), c.description(), c.location(), readAt);
+                    }
+                });
+            }
+        });
+        for (UUID id : signatures.keySet()) {
+            if (!open.contains(id)) {
+                signatures.computeIfPresent(id, (key, indexed) -> indexed.version() > readAt ? indexed : unfile(key, indexed));
+            }
+        }
+        removals.values().removeIf(version -> version <= readAt);
+    }
+
+    /**
+     * Indexes an open complaint, or drops it from the index once it is resolved or rejected.
+     */
+    public void track(Complaint complaint) {
+        if (ComplaintTriageQueue.OPEN_STATUSES.contains(complaint.getStatus())) {
+            if (!signatures.containsKey(complaint.getId())) {
+                add(complaint.getId(), complaint.getCategory(), complaint.getTitle(),
+                        complaint.getDescription(), complaint.getLocation(), Long.MIN_VALUE);
+            }
+        } else {
+            remove(complaint.getId());
+        }
+    }
+
+    public void remove(UUID id) {
+        signatures.compute(id, (key, indexed) -> {
+            removals.put(key, versions.incrementAndGet());
+            return indexed == null ? null : unfile(key, indexed);
+        });
+    }
+
+    /**
+     * Open complaints in the same category whose text is at least {@code similarity-threshold} similar,
+     * most similar first.
+     */
+    public List<Match> findSimilar(String category, String title, String description, String location, int limit) {
+        int[] signature = MinHash.signature(text(title, description, location));
+        ConcurrentMap<Long, Set<UUID>> buckets = bucketsByCategory.get(normalizeCategory(category));
+        if (signature == null || buckets == null) {
+            return List.of();
+        }
+
+        Set<UUID> candidates = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            Set<UUID> ids = buckets.get(MinHash.bandKey(signature, band));
+            if (ids != null) {
+                candidates.addAll(ids);
+            }
+        }
+
+        return candidates.stream()
+                .map(id -> {
+                    Indexed indexed = signatures.get(id);
+                    return indexed == null ? null : new Match(id, MinHash.similarity(signature, indexed.signature()));
+                })
+                .filter(match -> match != null && match.similarity() >= similarityThreshold)
+                .sorted(Comparator.comparingDouble(Match::similarity).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    /**
+     * Files a complaint unless it is already indexed, or was closed locally after {@code readAt} (a reconcile
+     * read it as open before that; {@code Long.MIN_VALUE} for a local change, which is always current).
+     */
+    private void add(UUID id, String category, String title, String description, String location, long readAt) {
+        int[] signature = MinHash.signature(text(title, description, location));
+        if (signature == null) {
+            return;
+        }
+        String categoryKey = normalizeCategory(category);
+        signatures.compute(id, (key, indexed) -> {
+            if (indexed != null) {
+                return indexed;
+            }
+            Long removedAt = removals.get(key);
+            if (readAt != Long.MIN_VALUE && removedAt != null && removedAt > readAt) {
+                return null;
+            }
+            ConcurrentMap<Long, Set<UUID>> buckets = bucketsByCategory.computeIfAbsent(categoryKey, k -> new ConcurrentHashMap<>());
+            for (int band = 0; band < MinHash.BANDS; band++) {
+                buckets.compute(MinHash.bandKey(signature, band), (bandKey, ids) -> {
+                    Set<UUID> bucket = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                    bucket.add(key);
+                    return bucket;
+                });
+            }
+            return new Indexed(categoryKey, signature, versions.incrementAndGet());
+        });
+    }
+
+    /**
+     * Takes a complaint out of its buckets; returns null so it can be used as the remapping result.
+     */
+    private Indexed unfile(UUID id, Indexed indexed) {
+        ConcurrentMap<Long, Set<UUID>> buckets = bucketsByCategory.get(indexed.category());
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            buckets.computeIfPresent(MinHash.bandKey(indexed.signature(), band), (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+        return null;
+    }
+
+    private static String text(String title, String description, String location) {
+        return String.join(" ", nullToEmpty(title), nullToEmpty(location), nullToEmpty(description));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String normalizeCategory(String category) {
+        return category == null ? "" : category.trim().toLowerCase(Locale.ROOT);
+    }
+}
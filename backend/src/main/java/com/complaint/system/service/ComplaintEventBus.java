@@ -0,0 +1,197 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of complaint changes to server-sent event subscribers.
+ *
+ * <p>Publishing never blocks: each subscriber has a bounded buffer that is drained by its own task, so one
+ * slow client cannot hold up the others or the request that caused the event. A subscriber whose buffer
+ * fills up is disconnected and has to reconnect and reload. Upvotes are coalesced per complaint and
+ * flushed on a short interval, so a burst of votes becomes one event carrying the latest count.
+ */
+@Service
+public class ComplaintEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintEventBus.class);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Reserved before a subscriber is added and returned when it is removed, so the cap holds under concurrent subscribes
+    private final Semaphore subscriberSlots;
+    private final Map<UUID, Integer> pendingUpvotes = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    // Drains block on the client socket, so they run on virtual threads rather than tying up a pool
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("sse-", 0).factory());
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    public ComplaintEventBus(@Value("${complaints.events.buffer-size:256}") int bufferSize,
+                             @Value("${complaints.events.max-subscribers:1000}") int maxSubscribers,
+                             @Value("${complaints.events.timeout:PT30M}") Duration timeout) {
+        this.bufferSize = bufferSize;
+        this.subscriberSlots = new Semaphore(maxSubscribers);
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Registers a new subscriber. Throws {@link IllegalStateException} when the subscriber limit is reached.
+     */
+    public SseEmitter subscribe() {
+        if (!subscriberSlots.tryAcquire()) {
+            throw new IllegalStateException("Too many live subscribers");
+        }
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.add(subscriber);
+        // An initial comment commits the response so the client knows the stream is open
+        subscriber.offer(SseEmitter.event().comment("connected"));
+        return emitter;
+    }
+
+    public void publishCreated(ComplaintDetail complaint) {
+        publish(ComplaintEvent.created(complaint));
+    }
+
+    public void publishStatusChanged(ComplaintDetail complaint) {
+        publish(ComplaintEvent.statusChanged(complaint));
+    }
+
+    public void publishImported(int count) {
+        publish(ComplaintEvent.imported(count));
+    }
+
+    /**
+     * Records the latest upvote count for a complaint; it is sent on the next flush.
+     */
+    public void publishUpvotes(UUID id, int upvotes) {
+        if (!subscribers.isEmpty()) {
+            pendingUpvotes.merge(id, upvotes, Math::max);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.events.upvote-flush-interval:PT0.5S}")
+    public void flushUpvotes() {
+        for (UUID id : pendingUpvotes.keySet()) {
+            Integer upvotes = pendingUpvotes.remove(id);
+            if (upvotes != null) {
+                publish(ComplaintEvent.upvoted(id, upvotes));
+            }
+        }
+    }
+
+    /**
+     * Keeps idle connections open through proxies and detects clients that have gone away.
+     */
+    @Scheduled(fixedDelayString = "${complaints.events.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event().comment("keep-alive"));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdownNow();
+    }
+
+    private void publish(ComplaintEvent event) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        String eventId = Long.toString(sequence.incrementAndGet());
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(SseEmitter.event()
+                    .id(eventId)
+                    .name(event.type().name().toLowerCase(Locale.ROOT))
+                    .data(event, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    private boolean unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriberSlots.release();
+        return true;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(SseEmitter.SseEventBuilder event) {
+            if (!buffer.offer(event)) {
+                evict();
+                return;
+            }
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                do {
+                    SseEmitter.SseEventBuilder event;
+                    while ((event = buffer.poll()) != null) {
+                        emitter.send(event);
+                    }
+                    draining.set(false);
+                    // An event may have arrived after the last poll but before the flag was cleared
+                } while (!buffer.isEmpty() && draining.compareAndSet(false, true));
+            } catch (IOException | IllegalStateException e) {
+                // Client went away or the emitter already completed
+                unsubscribe(this);
+                buffer.clear();
+            }
+        }
+
+        private void evict() {
+            if (unsubscribe(this)) {
+                log.info("Disconnecting slow event subscriber after {} undelivered events", bufferSize);
+                buffer.clear();
+                // Completing can block behind a stalled send, so never do it on the publishing thread
+                senders.execute(emitter::complete);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintFilter;
+import com.complaint.system.repository.ComplaintRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+/**
+ * Writes every complaint matching a filter straight from a database cursor to an output stream. Rows are
+ * projected to {@link ComplaintDetail} so nothing accumulates in the persistence context, which keeps heap
+ * use flat no matter how many rows are exported.
+ */
+@Service
+public class ComplaintExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private static final String[] CSV_HEADER = {
+            "id", "title", "description", "category", "location", "latitude", "longitude", "status", "priority",
+            "upvotes", "photoUrl", "userEmail", "createdAt", "updatedAt"
+    };
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() { return contentType; }
+        public String getExtension() { return extension; }
+
+        public static Format parse(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final ComplaintRepository complaintRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ComplaintExportService(ComplaintRepository complaintRepository,
+                                  ObjectMapper objectMapper,
+                                  PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        // The stream must not outlive the caller's writer, so the export never closes the response itself
+        this.objectMapper = objectMapper.copy().disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Streams the matching complaints to {@code out}, oldest first, and returns the number of rows written.
+     * The cursor holds a connection for the whole export, so callers should run this off the request thread.
+     */
+    public long export(ComplaintFilter filter, Format format, OutputStream out) {
+        Long written = readOnlyTransaction.execute(status -> {
+            try (Stream<ComplaintDetail> rows = complaintRepository.streamForExport(
+                    filter.getStatus(), filter.getCategory(), filter.getPriority(),
+                    filter.getCreatedFrom(), filter.getCreatedTo())) {
+                return format == Format.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return written == null ? 0 : written;
+    }
+
+    private long writeNdjson(Iterator<ComplaintDetail> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                if (++count % FLUSH_EVERY == 0) {
+                    writer.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            out.write('\n');
+        }
+        out.flush();
+        return count;
+    }
+
+    private long writeCsv(Iterator<ComplaintDetail> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvRow(writer, (Object[]) CSV_HEADER);
+        // Send the header right away so the client sees the download start before the first batch arrives
+        writer.flush();
+
+        long count = 0;
+        while (rows.hasNext()) {
+            ComplaintDetail c = rows.next();
+            writeCsvRow(writer, c.id(), c.title(), c.description(), c.category(), c.location(), c.latitude(),
+                    c.longitude(), c.status(), c.priority(), c.upvotes(), c.photoUrl(), c.userEmail(),
+                    c.createdAt(), c.updatedAt());
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof String text) {
+                writer.write(csvField(text));
+            } else if (values[i] != null) {
+                writer.write(values[i].toString());
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static String csvField(String value) {
+        // Spreadsheets evaluate cells starting with these characters as formulas, so neutralise user-supplied text
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
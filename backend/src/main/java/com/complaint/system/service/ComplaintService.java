@@ -1,83 +1,475 @@
 package com.complaint.system.service;
 
+import com.complaint.system.dto.ComplaintChanges;
+import com.complaint.system.dto.ComplaintCursor;
+import com.complaint.system.dto.ComplaintDetail;
+import com.complaint.system.dto.ComplaintFilter;
+import com.complaint.system.dto.ComplaintPage;
+import com.complaint.system.dto.ComplaintSummary;
+import com.complaint.system.dto.ComplaintVersion;
+import com.complaint.system.dto.ComplaintWatermark;
+import com.complaint.system.dto.DuplicateCandidate;
+import com.complaint.system.dto.NearbyComplaint;
 import com.complaint.system.entity.Complaint;
 import com.complaint.system.entity.User;
 import com.complaint.system.repository.ComplaintRepository;
+import com.complaint.system.repository.ComplaintUpvoteRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed(value = "complaints.service", histogram = true)
 public class ComplaintService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_SEARCH_TERMS = 8;
+    public static final double DEFAULT_NEARBY_RADIUS_METERS = 500;
+    public static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+
+    private static final double EARTH_RADIUS_METERS = 6_371_008.8;
+    private static final double METERS_PER_DEGREE_LATITUDE = 111_320;
+    // The index orders by planar degrees, which drifts from true distance away from the equator
+    private static final int NEARBY_OVERFETCH = 4;
+    // Start of the change feed for clients without a watermark; every row sorts after it
+    private static final ComplaintWatermark FEED_START = new ComplaintWatermark(0, new UUID(0, 0));
+
     private final ComplaintRepository complaintRepository;
+    private final ComplaintUpvoteRepository upvoteRepository;
+    private final ComplaintStatsService statsService;
+    private final PhotoStorageService photoStorageService;
+    private final ComplaintCache complaintCache;
+    private final ComplaintEventBus eventBus;
+    private final ComplaintTriageQueue triageQueue;
+    private final ComplaintDuplicateIndex duplicateIndex;
+    private final ComplaintStatusEventWriter statusEvents;
+    private final double mergeThreshold;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate changesTransaction;
 
-    public ComplaintService(ComplaintRepository complaintRepository) {
+    public ComplaintService(ComplaintRepository complaintRepository, ComplaintUpvoteRepository upvoteRepository,
+                            ComplaintStatsService statsService, PhotoStorageService photoStorageService,
+                            ComplaintCache complaintCache, ComplaintEventBus eventBus,
+                            ComplaintTriageQueue triageQueue, ComplaintDuplicateIndex duplicateIndex,
+                            ComplaintStatusEventWriter statusEvents, PlatformTransactionManager transactionManager,
+                            @Value("${complaints.duplicates.merge-threshold:0.8}") double mergeThreshold) {
         this.complaintRepository = complaintRepository;
+        this.upvoteRepository = upvoteRepository;
+        this.statsService = statsService;
+        this.photoStorageService = photoStorageService;
+        this.complaintCache = complaintCache;
+        this.eventBus = eventBus;
+        this.triageQueue = triageQueue;
+        this.duplicateIndex = duplicateIndex;
+        this.statusEvents = statusEvents;
+        this.mergeThreshold = mergeThreshold;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // One snapshot for the horizon, the versions and the summaries, so the three agree
+        this.changesTransaction = new TransactionTemplate(transactionManager);
+        this.changesTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.changesTransaction.setReadOnly(true);
     }
 
     public Complaint createComplaint(String title, String description, String category, 
                                    String location, String priority, MultipartFile photo, User user) {
+        return createComplaint(title, description, category, location, null, null, priority, photo, user);
+    }
+
+    public Complaint createComplaint(String title, String description, String category, String location,
+                                     Double latitude, Double longitude, String priority, MultipartFile photo,
+                                     User user) {
+        validateCoordinates(latitude, longitude);
         Complaint complaint = new Complaint(title, description, category, location, user);
         complaint.setPriority(Complaint.Priority.valueOf(priority.toUpperCase()));
+        complaint.setLatitude(latitude);
+        complaint.setLongitude(longitude);
         
         if (photo != null && !photo.isEmpty()) {
-            String photoUrl = savePhoto(photo);
+            String photoUrl = photoStorageService.savePhoto(photo);
             complaint.setPhotoUrl(photoUrl);
         }
         
-        return complaintRepository.save(complaint);
+        Complaint saved;
+        try {
+            saved = transactionTemplate.execute(status -> {
+                Complaint inserted = complaintRepository.save(complaint);
+                statsService.recordCreated(inserted);
+                return inserted;
+            });
+        } catch (RuntimeException e) {
+            photoStorageService.releasePhoto(complaint.getPhotoUrl());
+            throw e;
+        }
+        afterCreate(saved);
+        ComplaintDetail detail = ComplaintDetail.from(saved);
+        complaintCache.put(detail);
+        eventBus.publishCreated(detail);
+        return saved;
+    }
+
+    /**
+     * Inserts already-built complaints in one transaction. Ids are generated in memory (UUID strategy), so
+     * Hibernate can group the inserts into JDBC batches (see {@code hibernate.jdbc.batch_size}).
+     */
+    public List<Complaint> createComplaints(List<Complaint> complaints) {
+        List<Complaint> saved = transactionTemplate.execute(status -> {
+            List<Complaint> inserted = complaintRepository.saveAll(complaints);
+            inserted.forEach(statsService::recordCreated);
+            return inserted;
+        });
+        saved.forEach(this::afterCreate);
+        // One event per chunk rather than per row, so an import cannot overflow subscriber buffers
+        eventBus.publishImported(saved.size());
+        return saved;
+    }
+
+    private void afterCreate(Complaint saved) {
+        triageQueue.track(saved);
+        duplicateIndex.track(saved);
+        statusEvents.record(saved.getId(), null, saved.getStatus(), saved.getCreatedAt());
     }
     
-    private String savePhoto(MultipartFile photo) {
-        try {
-            String uploadDir = "uploads/";
-            Path uploadPath = Paths.get(uploadDir);
-            
-            if (!Files.exists(uploadPath)) {
-                Files.createDirectories(uploadPath);
+    public ComplaintPage<ComplaintSummary> getComplaintPage(ComplaintFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ComplaintCursor after = cursor == null || cursor.isEmpty() ? null : ComplaintCursor.decode(cursor);
+
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<ComplaintSummary> rows = complaintRepository.findPage(
+                filter.getStatus(), filter.getCategory(), filter.getPriority(),
+                filter.getCreatedFrom(), filter.getCreatedTo(),
+                after == null ? null : after.getCreatedAt(),
+                after == null ? null : after.getId(),
+                Limit.of(pageSize + 1));
+
+        if (rows.size() <= pageSize) {
+            return new ComplaintPage<>(rows, null);
+        }
+        List<ComplaintSummary> page = rows.subList(0, pageSize);
+        ComplaintSummary last = page.get(pageSize - 1);
+        return new ComplaintPage<>(page, new ComplaintCursor(last.createdAt(), last.id()).encode());
+    }
+
+    /**
+     * Complaints written since the {@code since} watermark (from the beginning when absent), in the order of
+     * the transactions that wrote them: live ones as summaries, deleted ones as tombstone ids. Only writes
+     * by transactions older than the oldest one still running are returned, since those can no longer be
+     * joined by a late commit; a long-running write transaction therefore holds the feed back until it ends.
+     */
+    public ComplaintChanges getChangesSince(String since, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ComplaintWatermark after = since == null || since.isEmpty() ? FEED_START : ComplaintWatermark.decode(since);
+
+        return changesTransaction.execute(status -> {
+            long horizon = complaintRepository.findChangeHorizon();
+            List<ComplaintVersion> versions = complaintRepository.findChangedSince(
+                    after.getChangeXid(), after.getId(), horizon, Limit.of(pageSize + 1));
+            boolean hasMore = versions.size() > pageSize;
+            if (hasMore) {
+                versions = versions.subList(0, pageSize);
             }
-            
-            String fileName = UUID.randomUUID().toString() + "_" + photo.getOriginalFilename();
-            Path filePath = uploadPath.resolve(fileName);
-            Files.copy(photo.getInputStream(), filePath);
-            
-            return "/uploads/" + fileName;
-        } catch (IOException e) {
-            throw new RuntimeException("Failed to save photo: " + e.getMessage());
+
+            List<UUID> live = new ArrayList<>();
+            List<UUID> deleted = new ArrayList<>();
+            for (ComplaintVersion version : versions) {
+                (version.deletedAt() == null ? live : deleted).add(version.id());
+            }
+            List<ComplaintSummary> changed = getSummariesInOrder(live);
+
+            ComplaintWatermark watermark;
+            if (!versions.isEmpty()) {
+                ComplaintVersion last = versions.get(versions.size() - 1);
+                watermark = new ComplaintWatermark(last.changeXid(), last.id());
+            } else if (after.getChangeXid() < horizon) {
+                // Nothing was written below the horizon, so clients can skip straight to it
+                watermark = new ComplaintWatermark(horizon, FEED_START.getId());
+            } else {
+                watermark = after;
+            }
+            return new ComplaintChanges(changed, deleted, watermark.encode(), hasMore);
+        });
+    }
+
+    /**
+     * Full-text search with prefix matching: every word in {@code text} must match the start of a word in
+     * the title, location or description. Results are ranked by relevance, then recency. {@code category} and
+     * {@code status} optionally narrow the results.
+     */
+    public ComplaintPage<ComplaintSummary> searchComplaints(String text, String category, Complaint.Status status,
+                                                            int page, int size) {
+        String query = toPrefixQuery(text);
+        if (query.isEmpty()) {
+            return new ComplaintPage<>(List.of(), null);
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int offset = Math.max(0, page) * pageSize;
+
+        List<UUID> ids = complaintRepository.search(query,
+                category == null || category.isEmpty() ? null : category,
+                status == null ? null : status.name(),
+                pageSize + 1, offset);
+        String nextPage = null;
+        if (ids.size() > pageSize) {
+            ids = ids.subList(0, pageSize);
+            nextPage = String.valueOf(Math.max(0, page) + 1);
+        }
+        return new ComplaintPage<>(getSummariesInOrder(ids), nextPage);
+    }
+
+    /**
+     * Loads summaries for the given ids in one query and returns them in the same order, skipping ids
+     * that no longer exist.
+     */
+    public List<ComplaintSummary> getSummariesInOrder(List<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // The summaries come back in arbitrary order; restore the caller's order
+        Map<UUID, ComplaintSummary> byId = complaintRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ComplaintSummary::id, Function.identity()));
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    static String toPrefixQuery(String text) {
+        if (text == null) {
+            return "";
+        }
+        // Only letters and digits survive, so user input can never inject tsquery operators
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+"))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+    }
+
+    /**
+     * Complaints within {@code radiusMeters} of a point, nearest first. The database narrows the search to the
+     * enclosing bounding box using the spatial index; the exact great-circle distance is applied here.
+     */
+    public List<NearbyComplaint> findNearby(double latitude, double longitude, double radiusMeters, int limit,
+                                            String category, Complaint.Status status) {
+        validateCoordinates(latitude, longitude);
+        double radius = Math.max(1, Math.min(radiusMeters, MAX_NEARBY_RADIUS_METERS));
+        double latDelta = radius / METERS_PER_DEGREE_LATITUDE;
+        double lonDelta = radius / (METERS_PER_DEGREE_LATITUDE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6));
+        return nearest(latitude, longitude,
+                latitude - latDelta, longitude - lonDelta, latitude + latDelta, longitude + lonDelta,
+                radius, limit, category, status);
+    }
+
+    /**
+     * Complaints inside a bounding box, nearest to its centre first. Boxes crossing the antimeridian are not
+     * supported; split them into two requests.
+     */
+    public List<NearbyComplaint> findWithinBox(double minLatitude, double minLongitude,
+                                               double maxLatitude, double maxLongitude, int limit,
+                                               String category, Complaint.Status status) {
+        validateCoordinates(minLatitude, minLongitude);
+        validateCoordinates(maxLatitude, maxLongitude);
+        if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+            throw new IllegalArgumentException("Bounding box minimums must not exceed its maximums");
         }
+        double centreLat = (minLatitude + maxLatitude) / 2;
+        double centreLon = (minLongitude + maxLongitude) / 2;
+        return nearest(centreLat, centreLon, minLatitude, minLongitude, maxLatitude, maxLongitude,
+                Double.MAX_VALUE, limit, category, status);
     }
 
-    public List<Complaint> getAllComplaints() {
-        return complaintRepository.findAll();
+    private List<NearbyComplaint> nearest(double latitude, double longitude,
+                                          double minLat, double minLon, double maxLat, double maxLon,
+                                          double radius, int limit, String category, Complaint.Status status) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Object[]> candidates = complaintRepository.findNearby(latitude, longitude,
+                Math.max(minLat, -90), Math.max(minLon, -180), Math.min(maxLat, 90), Math.min(maxLon, 180),
+                category == null || category.isEmpty() ? null : category,
+                status == null ? null : status.name(),
+                pageSize * NEARBY_OVERFETCH);
+
+        Map<UUID, Double> distances = new LinkedHashMap<>();
+        candidates.stream()
+                .map(row -> Map.entry((UUID) row[0],
+                        distanceMeters(latitude, longitude, ((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue())))
+                .filter(candidate -> candidate.getValue() <= radius)
+                .sorted(Map.Entry.comparingByValue())
+                .limit(pageSize)
+                .forEach(candidate -> distances.put(candidate.getKey(), candidate.getValue()));
+
+        return getSummariesInOrder(List.copyOf(distances.keySet())).stream()
+                .map(summary -> new NearbyComplaint(summary, distances.get(summary.id())))
+                .toList();
     }
 
-    public List<Complaint> getComplaintsByUser(User user) {
-        return complaintRepository.findByUser(user);
+    static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.asin(Math.min(1, Math.sqrt(a)));
     }
 
-    public Optional<Complaint> getComplaintById(UUID id) {
-        return complaintRepository.findById(id);
+    private static void validateCoordinates(Double latitude, Double longitude) {
+        if (latitude == null && longitude == null) {
+            return;
+        }
+        if (latitude == null || longitude == null) {
+            throw new IllegalArgumentException("Latitude and longitude must be given together");
+        }
+        if (latitude < -90 || latitude > 90 || Double.isNaN(latitude)) {
+            throw new IllegalArgumentException("Latitude must be between -90 and 90");
+        }
+        if (longitude < -180 || longitude > 180 || Double.isNaN(longitude)) {
+            throw new IllegalArgumentException("Longitude must be between -180 and 180");
+        }
     }
 
+    /**
+     * Open complaints in the same category that read like the described one, most similar first.
+     */
+    public List<DuplicateCandidate> findDuplicates(String category, String title, String description,
+                                                   String location, int limit) {
+        List<ComplaintDuplicateIndex.Match> matches = duplicateIndex.findSimilar(
+                category, title, description, location, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+        Map<UUID, Double> similarity = matches.stream()
+                .collect(Collectors.toMap(ComplaintDuplicateIndex.Match::id, ComplaintDuplicateIndex.Match::similarity));
+        return getSummariesInOrder(matches.stream().map(ComplaintDuplicateIndex.Match::id).toList()).stream()
+                .map(summary -> new DuplicateCandidate(summary, similarity.get(summary.id())))
+                .toList();
+    }
+
+    /**
+     * If an open complaint is at least {@code merge-threshold} similar to the described one, counts the
+     * submission as an upvote on it (once per user) and returns it instead of creating a new complaint.
+     */
+    public Optional<ComplaintDetail> mergeIntoDuplicate(String category, String title, String description,
+                                                        String location, String userEmail) {
+        Optional<UUID> target = duplicateIndex.findSimilar(category, title, description, location, 1).stream()
+                .filter(match -> match.similarity() >= mergeThreshold)
+                .map(ComplaintDuplicateIndex.Match::id)
+                .findFirst();
+        if (target.isEmpty()) {
+            return Optional.empty();
+        }
+        UUID id = target.get();
+        // Self-invocation skips the @Transactional proxy, so open the transaction explicitly
+        transactionTemplate.executeWithoutResult(status -> upvoteComplaint(id, userEmail));
+        return getComplaintById(id);
+    }
+
+    public boolean hasComplaints() {
+        return complaintRepository.count() > 0;
+    }
+
+    public List<ComplaintSummary> getComplaintsByUser(User user) {
+        return complaintRepository.findSummariesByUser(user);
+    }
+
+    public Optional<ComplaintDetail> getComplaintById(UUID id) {
+        return complaintCache.get(id, complaintRepository::findDetailById);
+    }
+
+    /**
+     * Moves a complaint to a new status if {@link Complaint.Status#canTransitionTo} allows it, and records the
+     * change in the status history. Setting the status it already has changes nothing. The transition is
+     * checked against the status that was read and applied only if the row still has it; when another change
+     * got there first this throws {@link IllegalStateException} and neither the history nor the counters move.
+     */
+    @Transactional
     public Complaint updateComplaintStatus(UUID id, String status) {
         Complaint complaint = complaintRepository.findById(id)
+                .filter(found -> found.getDeletedAt() == null)
+                .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        Complaint.Status previousStatus = complaint.getStatus();
+        Complaint.Status newStatus = Complaint.Status.valueOf(status.toUpperCase());
+        if (newStatus == previousStatus) {
+            return complaint;
+        }
+        if (previousStatus != null && !previousStatus.canTransitionTo(newStatus)) {
+            throw new IllegalArgumentException("Cannot change status from " + previousStatus + " to " + newStatus);
+        }
+        // Only the status column is written; saving the loaded entity would write every column back as it
+        // was read, losing upvotes and deletions that committed in between
+        if (complaintRepository.updateStatus(id, previousStatus, newStatus, LocalDateTime.now()) == 0) {
+            boolean live = complaintRepository.findById(id).filter(found -> found.getDeletedAt() == null).isPresent();
+            if (!live) {
+                throw new RuntimeException("Complaint not found");
+            }
+            throw new IllegalStateException("Complaint status was changed by another request; reload and retry");
+        }
+        // The update cleared the persistence context, so this reads the row as it is now
+        Complaint saved = complaintRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
-        complaint.setStatus(Complaint.Status.valueOf(status.toUpperCase()));
-        return complaintRepository.save(complaint);
+        statusEvents.record(saved.getId(), previousStatus, newStatus, saved.getUpdatedAt());
+        statsService.recordStatusChange(saved, previousStatus);
+        duplicateIndex.track(saved);
+        ComplaintDetail detail = ComplaintDetail.from(saved);
+        afterCommit(() -> {
+            triageQueue.track(saved);
+            complaintCache.put(detail);
+            eventBus.publishStatusChanged(detail);
+        });
+        return saved;
     }
 
-    public Complaint upvoteComplaint(UUID id) {
-        Complaint complaint = complaintRepository.findById(id)
+    /**
+     * Applies an upvote without loading the complaint and returns the new count. When a user email is
+     * given the vote is counted at most once per user; repeat votes just return the current count.
+     */
+    @Transactional
+    public int upvoteComplaint(UUID id, String userEmail) {
+        if (userEmail != null && !userEmail.isEmpty()
+                && upvoteRepository.insertIfAbsent(UUID.randomUUID(), id, userEmail) == 0) {
+            return complaintRepository.findUpvotesById(id)
+                    .orElseThrow(() -> new RuntimeException("Complaint not found"));
+        }
+
+        if (complaintRepository.incrementUpvotes(id, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Complaint not found");
+        }
+        int upvotes = complaintRepository.findUpvotesById(id)
                 .orElseThrow(() -> new RuntimeException("Complaint not found"));
-        complaint.setUpvotes(complaint.getUpvotes() + 1);
-        return complaintRepository.save(complaint);
+        afterCommit(() -> {
+            triageQueue.updateUpvotes(id, upvotes);
+            complaintCache.updateUpvotes(id, upvotes);
+            eventBus.publishUpvotes(id, upvotes);
+        });
+        return upvotes;
+    }
+
+    /**
+     * Runs {@code action} once the current transaction has committed, so nothing outside the database sees
+     * a change that is then rolled back. Runs it straight away when there is no transaction.
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,45 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.SlaPercentiles;
+import com.complaint.system.dto.SlaReport;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.repository.ComplaintStatusEventRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Time-in-status and time-to-resolution percentiles, computed in the database from the status history
+ * ({@code complaint_status_events}). Events reach the history within one flush interval of
+ * {@link ComplaintStatusEventWriter}, so the most recent second of changes may be missing.
+ */
+@Service
+public class ComplaintSlaService {
+
+    public static final int DEFAULT_WINDOW_DAYS = 30;
+    public static final int MAX_WINDOW_DAYS = 365;
+
+    private final ComplaintStatusEventRepository statusEventRepository;
+
+    public ComplaintSlaService(ComplaintStatusEventRepository statusEventRepository) {
+        this.statusEventRepository = statusEventRepository;
+    }
+
+    public SlaReport getReport(int days) {
+        LocalDateTime since = LocalDateTime.now().minusDays(Math.max(1, Math.min(days, MAX_WINDOW_DAYS)));
+        List<SlaPercentiles> timeInStatus = statusEventRepository.findTimeInStatusPercentiles(since).stream()
+                .map(row -> new SlaPercentiles((String) row[0], Complaint.Status.valueOf((String) row[1]),
+                        ((Number) row[2]).longValue(), seconds(row[3]), seconds(row[4]), seconds(row[5])))
+                .toList();
+        List<SlaPercentiles> timeToResolution = statusEventRepository.findTimeToResolutionPercentiles(since).stream()
+                .map(row -> new SlaPercentiles((String) row[0], null,
+                        ((Number) row[1]).longValue(), seconds(row[2]), seconds(row[3]), seconds(row[4])))
+                .toList();
+        return new SlaReport(since, timeInStatus, timeToResolution);
+    }
+
+    private static double seconds(Object value) {
+        return ((Number) value).doubleValue();
+    }
+}
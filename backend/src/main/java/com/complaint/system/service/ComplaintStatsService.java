@@ -0,0 +1,232 @@
+package com.complaint.system.service;
+
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.repository.ComplaintRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps complaint counts per (status, category, priority) in memory so the dashboard summary never scans
+ * the complaints table. Counters are seeded from one GROUP BY at startup, adjusted by the service on every
+ * write, and periodically reconciled against the database to absorb writes made by other instances.
+ *
+ * <p>A reconcile must not count a write twice (in the GROUP BY and again as an adjustment to the fresh
+ * counters) or drop it (adjusted in the counters it replaces, but committed too late for the GROUP BY). The
+ * GROUP BY runs in a REPEATABLE READ transaction, whose snapshot is fixed by its first statement. That
+ * statement runs under the write lock, which also starts a log of the adjustments applied from then on; the
+ * scan itself runs without the lock. Adjustments made inside a transaction are applied when it commits, and
+ * the read lock is held from just before the commit until they are applied. So every write either committed
+ * and was applied before the snapshot, or commits after it and lands in the log, which is replayed onto the
+ * fresh counters before they are swapped in. Writers only ever wait for one statement or the swap.
+ */
+@Service
+public class ComplaintStatsService {
+
+    private record Key(Complaint.Status status, String category, Complaint.Priority priority) {}
+
+    private record Adjustment(Key key, long delta) {}
+
+    // Looked up only to fix the reconcile's snapshot; any statement would do, and this one is an index probe
+    private static final UUID SNAPSHOT_PROBE = new UUID(0, 0);
+
+    private final ComplaintRepository complaintRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile ConcurrentMap<Key, LongAdder> counters = new ConcurrentHashMap<>();
+    // Adjustments applied since the running reconcile fixed its snapshot; null when none is running
+    private volatile Queue<Adjustment> appliedSinceSnapshot;
+
+    public ComplaintStatsService(ComplaintRepository complaintRepository,
+                                 PlatformTransactionManager transactionManager) {
+        this.complaintRepository = complaintRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        reconcile();
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.stats.reconcile-interval:PT15M}",
+               initialDelayString = "${complaints.stats.reconcile-interval:PT15M}")
+    public synchronized void reconcile() {
+        ConcurrentMap<Key, LongAdder> fresh = new ConcurrentHashMap<>();
+        Queue<Adjustment> since;
+        try {
+            since = snapshotTransaction.execute(status -> {
+                Queue<Adjustment> log = new ConcurrentLinkedQueue<>();
+                lock.writeLock().lock();
+                try {
+                    complaintRepository.existsById(SNAPSHOT_PROBE);
+                    appliedSinceSnapshot = log;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                for (Object[] row : complaintRepository.countByStatusCategoryPriority()) {
+                    LongAdder adder = new LongAdder();
+                    adder.add((Long) row[3]);
+                    fresh.put(new Key((Complaint.Status) row[0], (String) row[1], (Complaint.Priority) row[2]), adder);
+                }
+                return log;
+            });
+        } catch (RuntimeException e) {
+            appliedSinceSnapshot = null;
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            for (Adjustment adjustment : since) {
+                fresh.computeIfAbsent(adjustment.key(), k -> new LongAdder()).add(adjustment.delta());
+            }
+            counters = fresh;
+            appliedSinceSnapshot = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Counts a new complaint. Call it in the transaction that inserts the complaint; it takes effect on commit.
+     */
+    public void recordCreated(Complaint complaint) {
+        adjust(complaint.getStatus(), complaint.getCategory(), complaint.getPriority(), 1);
+    }
+
+    /**
+     * Moves a complaint between status counters. Call it in the transaction that changes the status; it takes
+     * effect on commit.
+     */
+    public void recordStatusChange(Complaint complaint, Complaint.Status previousStatus) {
+        if (previousStatus == complaint.getStatus()) {
+            return;
+        }
+        adjust(previousStatus, complaint.getCategory(), complaint.getPriority(), -1);
+        adjust(complaint.getStatus(), complaint.getCategory(), complaint.getPriority(), 1);
+    }
+
+    private void adjust(Complaint.Status status, String category, Complaint.Priority priority, long delta) {
+        Adjustment adjustment = new Adjustment(new Key(status, category, priority), delta);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lock.readLock().lock();
+            try {
+                apply(List.of(adjustment));
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Adjustment> pending = (List<Adjustment>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            pending = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, pending);
+            TransactionSynchronizationManager.registerSynchronization(new Pending(pending));
+        }
+        pending.add(adjustment);
+    }
+
+    // Callers hold the read lock
+    private void apply(List<Adjustment> adjustments) {
+        Queue<Adjustment> log = appliedSinceSnapshot;
+        for (Adjustment adjustment : adjustments) {
+            counters.computeIfAbsent(adjustment.key(), k -> new LongAdder()).add(adjustment.delta());
+            if (log != null) {
+                log.add(adjustment);
+            }
+        }
+    }
+
+    /**
+     * Holds the read lock across a transaction's commit and applies its adjustments if it committed, so a
+     * reconcile's snapshot falls wholly before or after the pair.
+     */
+    private final class Pending implements TransactionSynchronization {
+        private final List<Adjustment> adjustments;
+        private boolean locked;
+
+        private Pending(List<Adjustment> adjustments) {
+            this.adjustments = adjustments;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            lock.readLock().lock();
+            locked = true;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            try {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ComplaintStatsService.this);
+                if (status == STATUS_COMMITTED && locked) {
+                    apply(adjustments);
+                }
+            } finally {
+                if (locked) {
+                    lock.readLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Rolls the counters up into totals per status, category and priority. Cost depends only on the
+     * number of distinct keys, not on the number of complaints.
+     */
+    public Map<String, Object> getStats() {
+        long total = 0;
+        Map<Complaint.Status, Long> byStatus = new EnumMap<>(Complaint.Status.class);
+        Map<Complaint.Priority, Long> byPriority = new EnumMap<>(Complaint.Priority.class);
+        Map<String, Long> byCategory = new TreeMap<>();
+        for (Complaint.Status status : Complaint.Status.values()) {
+            byStatus.put(status, 0L);
+        }
+        for (Complaint.Priority priority : Complaint.Priority.values()) {
+            byPriority.put(priority, 0L);
+        }
+
+        for (Map.Entry<Key, LongAdder> entry : counters.entrySet()) {
+            long count = entry.getValue().sum();
+            if (count == 0) {
+                continue;
+            }
+            Key key = entry.getKey();
+            total += count;
+            byStatus.merge(key.status(), count, Long::sum);
+            byPriority.merge(key.priority(), count, Long::sum);
+            byCategory.merge(key.category(), count, Long::sum);
+        }
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", total);
+        stats.put("byStatus", byStatus);
+        stats.put("byCategory", byCategory);
+        stats.put("byPriority", byPriority);
+        return stats;
+    }
+}
@@ -0,0 +1,145 @@
+package com.complaint.system.service;
+
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.ComplaintStatusEvent;
+import com.complaint.system.repository.ComplaintStatusEventRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Appends to the complaint status history off the request path. {@link #record} only queues the event, and
+ * only once the caller's transaction has committed, so a status change that fails or rolls back leaves no
+ * history. A scheduled flush writes everything queued in batched inserts (ids are generated in memory, so
+ * Hibernate groups them per {@code hibernate.jdbc.batch_size}), each batch in its own transaction.
+ *
+ * <p>When the queue is full the caller waits up to {@code offer-timeout} for room, so a burst such as a bulk
+ * import slows down; past that the event is dropped and counted. A batch that fails to insert is queued again
+ * and retried on later flushes, up to {@code max-attempts}, then dropped and counted. Whatever is still
+ * queued is written on shutdown; a crash loses at most one flush interval of events.
+ */
+@Service
+public class ComplaintStatusEventWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(ComplaintStatusEventWriter.class);
+
+    private record Pending(ComplaintStatusEvent event, int attempts) {}
+
+    private final ComplaintStatusEventRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final int maxAttempts;
+    private final LongAdder dropped = new LongAdder();
+
+    public ComplaintStatusEventWriter(ComplaintStatusEventRepository repository,
+                                      PlatformTransactionManager transactionManager,
+                                      @Value("${complaints.status-events.queue-capacity:10000}") int queueCapacity,
+                                      @Value("${complaints.status-events.batch-size:500}") int batchSize,
+                                      @Value("${complaints.status-events.offer-timeout:PT1S}") Duration offerTimeout,
+                                      @Value("${complaints.status-events.max-attempts:10}") int maxAttempts) {
+        this.repository = repository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // Never join a caller's transaction: a failed batch must not roll back their work, or theirs this batch
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Queues a status change; {@code from} is null for a newly created complaint. Inside a transaction the
+     * event is queued after it commits, and not at all if it rolls back.
+     */
+    public void record(UUID complaintId, Complaint.Status from, Complaint.Status to, LocalDateTime changedAt) {
+        ComplaintStatusEvent event = new ComplaintStatusEvent(complaintId, from, to,
+                changedAt == null ? LocalDateTime.now() : changedAt);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(event);
+            }
+        });
+    }
+
+    private void enqueue(ComplaintStatusEvent event) {
+        try {
+            if (queue.offer(new Pending(event, 0), offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("Status history queue is full; dropped the {} -> {} event for complaint {}",
+                event.getFromStatus(), event.getToStatus(), event.getComplaintId());
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.status-events.flush-interval:PT1S}")
+    public void flush() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                List<ComplaintStatusEvent> events = batch.stream().map(Pending::event).toList();
+                transactionTemplate.executeWithoutResult(status -> repository.saveAll(events));
+            } catch (RuntimeException e) {
+                log.error("Could not write {} complaint status events; will retry", batch.size(), e);
+                requeue(batch);
+                // Leave the rest for the next flush rather than hammering a failing database
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    private void requeue(List<Pending> batch) {
+        for (Pending pending : batch) {
+            int attempts = pending.attempts() + 1;
+            // A fresh copy: the failed persist already assigned an id, which would turn the retry into a merge
+            ComplaintStatusEvent event = pending.event();
+            ComplaintStatusEvent retry = new ComplaintStatusEvent(event.getComplaintId(), event.getFromStatus(),
+                    event.getToStatus(), event.getChangedAt());
+            if (attempts >= maxAttempts || !queue.offer(new Pending(retry, attempts))) {
+                dropped.increment();
+            }
+        }
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /** Events lost to a full queue or to repeated insert failures since startup. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+}
@@ -0,0 +1,269 @@
+package com.complaint.system.service;
+
+import com.complaint.system.dto.TriageEntry;
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.ComplaintClaim;
+import com.complaint.system.repository.ComplaintClaimRepository;
+import com.complaint.system.repository.ComplaintRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Work queue of open complaints, most urgent first (see {@link TriageEntry} for the ordering).
+ *
+ * <p>Every instance keeps the queue in memory. Unclaimed complaints live in a skip list, so taking the next
+ * one is a lock-free O(log n) poll and two agents of this instance can never receive the same complaint. A
+ * claimed complaint leaves the skip list until its lease is released or expires. All changes to one
+ * complaint go through {@link ConcurrentMap#compute} on its slot, which serialises a claim against a
+ * concurrent upvote or status change for that complaint only.
+ *
+ * <p>Leases are recorded in {@code complaint_claims}, which is what decides between instances: a claim only
+ * succeeds if no other agent holds an unexpired lease there, and renewals and releases are checked against
+ * it. Changes made by other instances reach this one through {@link #reconcile()}, which periodically
+ * reloads the open complaints and the live leases.
+ */
+@Service
+public class ComplaintTriageQueue {
+
+    public static final Set<Complaint.Status> OPEN_STATUSES = EnumSet.of(Complaint.Status.PENDING, Complaint.Status.IN_PROGRESS);
+
+    public record Lease(UUID complaintId, String agent, Instant expiresAt) {}
+
+    // version orders local changes, so a reconcile does not overwrite one made while it was reading
+    private record Slot(TriageEntry entry, Lease lease, long version) {}
+
+    private final ComplaintRepository complaintRepository;
+    private final ComplaintClaimRepository claimRepository;
+    private final Duration leaseDuration;
+    private final Clock clock;
+    private final ConcurrentSkipListSet<TriageEntry> unclaimed = new ConcurrentSkipListSet<>();
+    private final ConcurrentMap<UUID, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+
+    public ComplaintTriageQueue(ComplaintRepository complaintRepository,
+                                ComplaintClaimRepository claimRepository,
+                                @Value("${complaints.triage.lease-duration:PT15M}") Duration leaseDuration) {
+        this.complaintRepository = complaintRepository;
+        this.claimRepository = claimRepository;
+        this.leaseDuration = leaseDuration;
+        this.clock = Clock.systemUTC();
+    }
+
+    /**
+     * Brings the queue in line with the database: complaints opened, closed or re-ranked by other instances
+     * (or outside the application), and leases taken, renewed or released elsewhere. Slots changed locally
+     * while the queries ran are left alone; they are newer than what was read. Also drops expired leases
+     * from {@code complaint_claims}.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${complaints.triage.reconcile-interval:PT1M}",
+               initialDelayString = "${complaints.triage.reconcile-interval:PT1M}")
+    public void reconcile() {
+        long readAt = versions.get();
+        Instant now = clock.instant();
+        Map<UUID, Lease> leases = new HashMap<>();
+        for (ComplaintClaim claim : claimRepository.findByExpiresAtAfter(now)) {
+            leases.put(claim.getComplaintId(), new Lease(claim.getComplaintId(), claim.getAgent(), claim.getExpiresAt()));
+        }
+        Set<UUID> open = new HashSet<>();
+        for (TriageEntry entry : complaintRepository.findTriageEntries(OPEN_STATUSES)) {
+            open.add(entry.id());
+            slots.compute(entry.id(), (id, slot) -> {
+                if (slot == null) {
+                    unclaimed.add(entry);
+                    return withLease(new Slot(entry, null, nextVersion()), leases.get(id));
+                }
+                return slot.version() > readAt ? slot : withLease(replaceEntry(slot, entry), leases.get(id));
+            });
+        }
+        for (UUID id : slots.keySet()) {
+            if (!open.contains(id)) {
+                slots.computeIfPresent(id, (key, slot) -> slot.version() > readAt ? slot : drop(slot));
+            }
+        }
+        claimRepository.deleteExpired(now);
+    }
+
+    /**
+     * Starts tracking a complaint if it is open, or stops tracking it (dropping any lease) if it is not.
+     */
+    public void track(Complaint complaint) {
+        if (!OPEN_STATUSES.contains(complaint.getStatus())) {
+            remove(complaint.getId());
+            return;
+        }
+        TriageEntry entry = TriageEntry.from(complaint);
+        slots.compute(entry.id(), (id, slot) -> {
+            if (slot == null) {
+                unclaimed.add(entry);
+                return new Slot(entry, null, nextVersion());
+            }
+            return replaceEntry(slot, entry);
+        });
+    }
+
+    /**
+     * Counts only grow, so a count lower than the tracked one comes from an upvote that committed earlier
+     * but was reported late, and is ignored.
+     */
+    public void updateUpvotes(UUID id, int upvotes) {
+        slots.computeIfPresent(id, (key, slot) -> slot.entry().upvotes() >= upvotes
+                ? slot : replaceEntry(slot, slot.entry().withUpvotes(upvotes)));
+    }
+
+    public void remove(UUID id) {
+        slots.computeIfPresent(id, (key, slot) -> drop(slot));
+    }
+
+    /**
+     * The most urgent unclaimed complaints, in queue order. A read-only view; nothing is claimed.
+     */
+    public List<UUID> peek(int limit) {
+        List<UUID> ids = new ArrayList<>(Math.min(limit, unclaimed.size()));
+        for (TriageEntry entry : unclaimed) {
+            if (ids.size() >= limit) {
+                break;
+            }
+            ids.add(entry.id());
+        }
+        return ids;
+    }
+
+    /**
+     * Leases the most urgent unclaimed complaint to {@code agent}, or returns empty when nothing is waiting.
+     * A complaint another instance has leased meanwhile is skipped, and kept out of this queue for the
+     * remainder of that lease.
+     */
+    public Optional<Lease> claimNext(String agent) {
+        TriageEntry head;
+        while ((head = unclaimed.pollFirst()) != null) {
+            Instant now = clock.instant();
+            Lease lease = new Lease(head.id(), agent, now.plus(leaseDuration));
+            TriageEntry polled = head;
+            Slot claimed = slots.computeIfPresent(head.id(), (id, slot) ->
+                    slot.lease() == null && slot.entry().equals(polled) ? new Slot(slot.entry(), lease, nextVersion()) : slot);
+            if (claimed == null || claimed.lease() != lease) {
+                // The polled entry was stale (re-ranked, closed or already leased); its current form, if any,
+                // is still in the skip list, so keep polling
+                continue;
+            }
+            Lease held;
+            try {
+                if (claimRepository.claim(head.id(), agent, lease.expiresAt(), now) == 1) {
+                    return Optional.of(lease);
+                }
+                held = claimRepository.findById(head.id())
+                        .map(claim -> new Lease(claim.getComplaintId(), claim.getAgent(), claim.getExpiresAt()))
+                        .orElse(null);
+            } catch (RuntimeException e) {
+                slots.computeIfPresent(head.id(), (id, slot) -> slot.lease() == lease ? withLease(slot, null) : slot);
+                throw e;
+            }
+            // Leased through another instance; mirror that lease (or, if it has just ended, requeue)
+            slots.computeIfPresent(head.id(), (id, slot) -> slot.lease() == lease ? withLease(slot, held) : slot);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Extends a lease held by {@code agent}. Returns empty if the complaint is not leased to that agent.
+     */
+    public Optional<Lease> renew(UUID id, String agent) {
+        Instant now = clock.instant();
+        Lease renewed = new Lease(id, agent, now.plus(leaseDuration));
+        if (claimRepository.renew(id, agent, renewed.expiresAt(), now) == 0) {
+            return Optional.empty();
+        }
+        slots.computeIfPresent(id, (key, slot) -> withLease(slot, renewed));
+        return Optional.of(renewed);
+    }
+
+    /**
+     * Returns a complaint leased to {@code agent} to the queue. Returns false if the agent did not hold it.
+     */
+    public boolean release(UUID id, String agent) {
+        if (claimRepository.release(id, agent, clock.instant()) == 0) {
+            return false;
+        }
+        slots.computeIfPresent(id, (key, slot) -> withLease(slot, null));
+        return true;
+    }
+
+    @Scheduled(fixedDelayString = "${complaints.triage.expiry-interval:PT30S}")
+    public void expireLeases() {
+        Instant now = clock.instant();
+        slots.forEach((id, candidate) -> {
+            if (candidate.lease() == null || candidate.lease().expiresAt().isAfter(now)) {
+                return;
+            }
+            // Re-check under the slot's lock; the lease may have been renewed or released meanwhile
+            slots.computeIfPresent(id, (key, slot) -> {
+                if (slot.lease() == null || slot.lease().expiresAt().isAfter(now)) {
+                    return slot;
+                }
+                return withLease(slot, null);
+            });
+        });
+    }
+
+    public int getUnclaimedCount() {
+        return unclaimed.size();
+    }
+
+    public int getTrackedCount() {
+        return slots.size();
+    }
+
+    private Slot replaceEntry(Slot slot, TriageEntry entry) {
+        if (slot.entry().equals(entry)) {
+            return slot;
+        }
+        if (slot.lease() == null) {
+            unclaimed.remove(slot.entry());
+            unclaimed.add(entry);
+        }
+        return new Slot(entry, slot.lease(), nextVersion());
+    }
+
+    private Slot withLease(Slot slot, Lease lease) {
+        if (Objects.equals(slot.lease(), lease)) {
+            return slot;
+        }
+        if (slot.lease() == null) {
+            unclaimed.remove(slot.entry());
+        } else if (lease == null) {
+            unclaimed.add(slot.entry());
+        }
+        return new Slot(slot.entry(), lease, nextVersion());
+    }
+
+    private Slot drop(Slot slot) {
+        unclaimed.remove(slot.entry());
+        return null;
+    }
+
+    private long nextVersion() {
+        return versions.incrementAndGet();
+    }
+}
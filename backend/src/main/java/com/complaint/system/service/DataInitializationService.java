@@ -5,10 +5,16 @@ import com.complaint.system.entity.User;
 import com.complaint.system.repository.ComplaintRepository;
 import com.complaint.system.repository.UserRepository;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+/**
+ * Seeds a default user and sample complaints into an empty database. Only active with the {@code dev}
+ * profile, so production instances skip the startup probe entirely.
+ */
 @Service
+@Profile("dev")
 public class DataInitializationService implements CommandLineRunner {
 
     private final UserRepository userRepository;
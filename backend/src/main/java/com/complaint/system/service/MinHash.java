@@ -0,0 +1,90 @@
+package com.complaint.system.service;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over character trigrams, split into bands for locality-sensitive hashing. Two texts
+ * share a band key with probability roughly {@code s^ROWS} per band, where {@code s} is their Jaccard
+ * similarity. With 16 bands of 4 rows a pair at 0.7 similarity lands in a shared bucket 99% of the time,
+ * at 0.5 about 64% of the time, and at 0.3 only about 12%.
+ */
+final class MinHash {
+
+    static final int BANDS = 16;
+    static final int ROWS = 4;
+    static final int SIZE = BANDS * ROWS;
+
+    private static final int SHINGLE = 3;
+    private static final long[] SEEDS = new SplittableRandom(0x5EEDL).longs(SIZE).toArray();
+
+    private MinHash() {}
+
+    /**
+     * Signature of the text, or null when it is too short to shingle.
+     */
+    static int[] signature(String text) {
+        String normalized = normalize(text);
+        if (normalized.length() < SHINGLE) {
+            return null;
+        }
+        int[] signature = new int[SIZE];
+        Arrays.fill(signature, Integer.MAX_VALUE);
+        for (int start = 0; start + SHINGLE <= normalized.length(); start++) {
+            long shingle = fnv1a(normalized, start, start + SHINGLE);
+            for (int i = 0; i < SIZE; i++) {
+                int h = (int) mix(shingle ^ SEEDS[i]);
+                if (h < signature[i]) {
+                    signature[i] = h;
+                }
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Bucket key for one band; the band index is mixed in so equal rows in different bands do not collide.
+     */
+    static long bandKey(int[] signature, int band) {
+        long h = band;
+        for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+            h = mix(h * 31 + signature[row]);
+        }
+        return h;
+    }
+
+    /**
+     * Estimated Jaccard similarity: the fraction of positions where the two signatures agree.
+     */
+    static double similarity(int[] a, int[] b) {
+        int equal = 0;
+        for (int i = 0; i < SIZE; i++) {
+            if (a[i] == b[i]) {
+                equal++;
+            }
+        }
+        return (double) equal / SIZE;
+    }
+
+    private static String normalize(String text) {
+        // Collapse punctuation and runs of whitespace so "Oak Ave." and "oak ave" shingle the same
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static long fnv1a(String text, int from, int to) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = from; i < to; i++) {
+            h ^= text.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    private static long mix(long z) {
+        // SplitMix64 finaliser
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
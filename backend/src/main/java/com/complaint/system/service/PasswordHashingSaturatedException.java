@@ -0,0 +1,9 @@
+package com.complaint.system.service;
+
+public class PasswordHashingSaturatedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingSaturatedException() {
+        super("Server is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,255 @@
+package com.complaint.system.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Photo processing: removing metadata (EXIF, which can carry the reporter's GPS position, and XMP) from JPEGs
+ * and PNGs while they are stored, and rendering downscaled JPEG variants. Thumbnails are rendered off the request thread.
+ * A decoded image takes four bytes per pixel whatever its file size, so the dimensions are read from the
+ * header first and images above {@code complaints.photos.max-pixels} are refused; large images are decoded
+ * subsampled, and at most {@code complaints.photos.processing.render-concurrency} renders run at once.
+ */
+@Service
+public class PhotoProcessingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoProcessingService.class);
+
+    private static final int MARKER_SOI = 0xD8;
+    private static final int MARKER_SOS = 0xDA;
+    private static final int MARKER_APP1 = 0xE1;
+    private static final byte[] PNG_SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n'};
+    // EXIF, and the text chunks that carry XMP (iTXt "XML:com.adobe.xmp") and free-form comments
+    private static final Set<String> PNG_METADATA_CHUNKS = Set.of("eXIf", "tEXt", "zTXt", "iTXt");
+    private static final String PNG_END = "IEND";
+
+    private final long maxPixels;
+    private final Semaphore renderPermits;
+    private final Duration renderWait;
+
+    public PhotoProcessingService(@Value("${complaints.photos.max-pixels:40000000}") long maxPixels,
+                                  @Value("${complaints.photos.processing.render-concurrency:2}") int renderConcurrency,
+                                  @Value("${complaints.photos.processing.render-wait:PT2S}") Duration renderWait) {
+        this.maxPixels = maxPixels;
+        this.renderPermits = new Semaphore(renderConcurrency);
+        this.renderWait = renderWait;
+    }
+
+    @Async("photoProcessingExecutor")
+    public void renderThumbnail(Path photo, Path thumbnail, int thumbnailSize) {
+        try {
+            renderVariant(photo, thumbnail, thumbnailSize);
+        } catch (IOException | RuntimeException e) {
+            // The variant is rendered on its first request instead
+            log.warn("Thumbnail rendering failed for {}: {}", photo.getFileName(), e.getMessage());
+        }
+    }
+
+    /**
+     * Copies a JPEG without its APP1 (EXIF/XMP) segments, copying every other header segment and the entropy
+     * coded data untouched, so the image itself is not re-encoded and the output is the same on every call.
+     * Throws {@link IOException} when the data is not a well-formed JPEG; {@code out} then holds a partial copy.
+     */
+    public void copyWithoutExif(InputStream source, OutputStream out) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        if (in.readUnsignedByte() != 0xFF || in.readUnsignedByte() != MARKER_SOI) {
+            throw new IOException("Not a JPEG");
+        }
+        out.write(0xFF);
+        out.write(MARKER_SOI);
+
+        while (true) {
+            int prefix = in.readUnsignedByte();
+            int marker = in.readUnsignedByte();
+            if (prefix != 0xFF) {
+                throw new IOException("Malformed JPEG segment");
+            }
+            if (marker == MARKER_SOS) {
+                out.write(0xFF);
+                out.write(marker);
+                in.transferTo(out);
+                return;
+            }
+            int length = in.readUnsignedShort();
+            if (marker == MARKER_APP1) {
+                in.skipNBytes(length - 2);
+                continue;
+            }
+            out.write(0xFF);
+            out.write(marker);
+            out.write(length >> 8);
+            out.write(length & 0xFF);
+            copy(in, out, length - 2);
+        }
+    }
+
+    /**
+     * Copies a PNG without its EXIF and text chunks, copying every other chunk (CRC included) byte for byte,
+     * so the image is not re-encoded and the output is the same on every call. Anything after {@code IEND}
+     * is dropped. Throws {@link IOException} when the data is not a well-formed PNG; {@code out} then holds
+     * a partial copy.
+     */
+    public void copyPngWithoutMetadata(InputStream source, OutputStream out) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(source));
+        byte[] signature = in.readNBytes(PNG_SIGNATURE.length);
+        if (!Arrays.equals(signature, PNG_SIGNATURE)) {
+            throw new IOException("Not a PNG");
+        }
+        out.write(signature);
+
+        while (true) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Malformed PNG chunk");
+            }
+            byte[] type = in.readNBytes(4);
+            if (type.length != 4) {
+                throw new EOFException();
+            }
+            String name = new String(type, StandardCharsets.US_ASCII);
+            if (PNG_METADATA_CHUNKS.contains(name)) {
+                // Chunk data and its CRC
+                in.skipNBytes(length + 4L);
+                continue;
+            }
+            out.write(length >>> 24);
+            out.write(length >>> 16 & 0xFF);
+            out.write(length >>> 8 & 0xFF);
+            out.write(length & 0xFF);
+            out.write(type);
+            copy(in, out, length + 4L);
+            if (name.equals(PNG_END)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Renders a JPEG no larger than {@code maxDimension} on either side. Returns false when the source is
+     * not an image format ImageIO can decode, and throws {@link IOException} when it is above the pixel
+     * limit. Waits up to {@code render-wait} for a render slot, then throws
+     * {@link PhotoRenderingSaturatedException}. Safe to call concurrently for the same target.
+     */
+    public boolean renderVariant(Path photo, Path target, int maxDimension) throws IOException {
+        try {
+            if (!renderPermits.tryAcquire(renderWait.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new PhotoRenderingSaturatedException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PhotoRenderingSaturatedException();
+        }
+        try {
+            BufferedImage source = read(photo, maxDimension);
+            if (source == null) {
+                return false;
+            }
+            BufferedImage scaled = scale(source, maxDimension);
+            Files.createDirectories(target.getParent());
+            Path temp = target.resolveSibling(target.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                ImageIO.write(scaled, "jpg", temp.toFile());
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return true;
+        } finally {
+            renderPermits.release();
+        }
+    }
+
+    /**
+     * Decodes the first image in {@code photo}, keeping only every n-th pixel when the image is more than
+     * twice {@code maxDimension} on its longer side; the bilinear scale in {@link #scale} smooths the rest.
+     */
+    private BufferedImage read(Path photo, int maxDimension) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(photo.toFile())) {
+            if (input == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new IOException("Image is " + width + "x" + height + ", above the limit of " + maxPixels + " pixels");
+                }
+                ImageReadParam param = reader.getDefaultReadParam();
+                int step = subsampling(width, height, maxDimension);
+                if (step > 1) {
+                    param.setSourceSubsampling(step, step, 0, 0);
+                }
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    static int subsampling(int width, int height, int maxDimension) {
+        return Math.max(1, Math.max(width, height) / (2 * maxDimension));
+    }
+
+    static BufferedImage scale(BufferedImage source, int maxDimension) {
+        double ratio = Math.min(1.0, (double) maxDimension / Math.max(source.getWidth(), source.getHeight()));
+        int width = Math.max(1, (int) Math.round(source.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(source.getHeight() * ratio));
+
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = scaled.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.drawImage(source, 0, 0, width, height, null);
+        } finally {
+            graphics.dispose();
+        }
+        return scaled;
+    }
+
+    private static void copy(InputStream in, OutputStream out, long length) throws IOException {
+        byte[] buffer = new byte[(int) Math.min(length, 8192)];
+        long remaining = length;
+        while (remaining > 0) {
+            int read = in.read(buffer, 0, (int) Math.min(remaining, buffer.length));
+            if (read < 0) {
+                throw new EOFException();
+            }
+            out.write(buffer, 0, read);
+            remaining -= read;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.complaint.system.service;
+
+public class PhotoRenderingSaturatedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public PhotoRenderingSaturatedException() {
+        super("Server is busy, please retry shortly");
+    }
+}
@@ -0,0 +1,361 @@
+package com.complaint.system.service;
+
+import com.complaint.system.entity.PhotoBlob;
+import com.complaint.system.repository.PhotoBlobRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed photo store. Each upload is copied once into a temporary file in the upload directory,
+ * hashed with SHA-256 on the way; the hash names the file and shards it into a two-level directory
+ * ({@code ab/cd/abcd....jpg}) so no directory grows past a few thousand entries. JPEGs and PNGs are copied
+ * without their EXIF and XMP metadata, so the hash names the bytes as stored and a stored file never
+ * changes. A photo that is already stored only has its reference count in {@code photo_blobs} bumped and
+ * the temporary copy is discarded; a new photo's copy is moved into place complete. Thumbnails are rendered
+ * in the background.
+ */
+@Service
+public class PhotoStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(PhotoStorageService.class);
+    private static final int SNIFF_LENGTH = 12;
+    private static final Pattern BLOB_URL = Pattern.compile("^/uploads/[0-9a-f]{2}/[0-9a-f]{2}/([0-9a-f]{64})\\.[a-z]+$");
+
+    public enum Variant {
+        THUMB("thumbnails"), MEDIUM("medium");
+
+        private final String directory;
+
+        Variant(String directory) {
+            this.directory = directory;
+        }
+    }
+
+    private final Path uploadPath;
+    private final int thumbnailSize;
+    private final int mediumSize;
+    private final Duration sweepGracePeriod;
+    private final PhotoBlobRepository blobRepository;
+    private final PhotoProcessingService processingService;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer storedTimer;
+    private final Timer deduplicatedTimer;
+    private final DistributionSummary uploadBytes;
+
+    public PhotoStorageService(@Value("${complaints.photos.upload-dir:uploads}") String uploadDir,
+                               @Value("${complaints.photos.thumbnail-size:320}") int thumbnailSize,
+                               @Value("${complaints.photos.medium-size:1024}") int mediumSize,
+                               @Value("${complaints.photos.sweep-grace-period:PT1H}") Duration sweepGracePeriod,
+                               PhotoBlobRepository blobRepository,
+                               PhotoProcessingService processingService,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry registry) {
+        this.uploadPath = Paths.get(uploadDir);
+        this.thumbnailSize = thumbnailSize;
+        this.mediumSize = mediumSize;
+        this.sweepGracePeriod = sweepGracePeriod;
+        this.blobRepository = blobRepository;
+        this.processingService = processingService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.storedTimer = saveTimer(registry, "stored");
+        this.deduplicatedTimer = saveTimer(registry, "deduplicated");
+        this.uploadBytes = DistributionSummary.builder("complaints.photos.upload.size")
+                .description("Size of uploaded photos")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private static Timer saveTimer(MeterRegistry registry, String outcome) {
+        return Timer.builder("complaints.photos.save")
+                .description("Time to hash and store an uploaded photo")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public String savePhoto(MultipartFile photo) {
+        long start = System.nanoTime();
+        Path tempFile = uploadPath.resolve(".upload-" + UUID.randomUUID());
+        try {
+            Fingerprint fingerprint;
+            try {
+                fingerprint = spool(photo, tempFile);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to save photo: " + e.getMessage());
+            }
+
+            String relativePath = shardedPath(fingerprint.hash) + "." + fingerprint.extension;
+            blobRepository.acquire(fingerprint.hash, relativePath, fingerprint.contentType, fingerprint.size);
+
+            Path filePath = uploadPath.resolve(relativePath);
+            boolean stored = !Files.exists(filePath);
+            if (stored) {
+                try {
+                    Files.createDirectories(filePath.getParent());
+                    // Concurrent uploads of the same bytes may race here; either rename wins with identical content
+                    Files.move(tempFile, filePath, StandardCopyOption.ATOMIC_MOVE);
+                } catch (IOException e) {
+                    blobRepository.release(fingerprint.hash);
+                    throw new RuntimeException("Failed to save photo: " + e.getMessage());
+                }
+                scheduleThumbnail(filePath, variantPath(Variant.THUMB, fingerprint.hash));
+            }
+            (stored ? storedTimer : deduplicatedTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            uploadBytes.record(fingerprint.size);
+
+            return "/uploads/" + relativePath;
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException e) {
+                log.warn("Failed to delete temporary upload {}: {}", tempFile.getFileName(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Drops one reference to a stored photo. The file itself is removed later by {@link #sweepUnreferenced()}
+     * once the blob has stayed unreferenced for the grace period. URLs that do not point into the
+     * content-addressed store (for example legacy flat uploads) are ignored.
+     */
+    public void releasePhoto(String photoUrl) {
+        String hash = hashOf(photoUrl);
+        if (hash != null) {
+            blobRepository.release(hash);
+        }
+    }
+
+    /**
+     * Deletes blobs that have stayed unreferenced for the grace period. Each file is deleted while its row is
+     * locked and still unreferenced, and the row goes in the same transaction: an upload of the same bytes
+     * waits on the lock, then finds either its reference counted on the kept row or a new row and no file,
+     * which it writes. If the files cannot be deleted the row is kept for the next sweep.
+     */
+    @Scheduled(fixedDelayString = "${complaints.photos.sweep-interval:PT1H}",
+               initialDelayString = "${complaints.photos.sweep-interval:PT1H}")
+    public void sweepUnreferenced() {
+        for (PhotoBlob blob : blobRepository.findUnreferenced(LocalDateTime.now().minus(sweepGracePeriod))) {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (blobRepository.lockIfUnreferenced(blob.getHash()).isEmpty()) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(uploadPath.resolve(blob.getRelativePath()));
+                    for (Variant variant : Variant.values()) {
+                        Files.deleteIfExists(variantPath(variant, blob.getHash()));
+                    }
+                } catch (IOException e) {
+                    log.warn("Failed to delete unreferenced photo {}: {}", blob.getHash(), e.getMessage());
+                    status.setRollbackOnly();
+                    return;
+                }
+                blobRepository.deleteIfUnreferenced(blob.getHash());
+            });
+        }
+    }
+
+    public Path getUploadPath() {
+        return uploadPath;
+    }
+
+    public Path variantPath(Variant variant, String hash) {
+        return uploadPath.resolve(variant.directory).resolve(shardedPath(hash) + ".jpg");
+    }
+
+    /**
+     * Returns the downscaled variant of a stored photo, rendering and caching it on disk on first request.
+     * Empty when the original is missing, is not a decodable image or is above the pixel limit. Throws
+     * {@link PhotoRenderingSaturatedException} when no render slot frees up in time.
+     */
+    public Optional<Path> resolveVariant(Path original, String hash, Variant variant) {
+        Path target = variantPath(variant, hash);
+        if (Files.exists(target)) {
+            return Optional.of(target);
+        }
+        if (!Files.exists(original)) {
+            return Optional.empty();
+        }
+        try {
+            int size = variant == Variant.THUMB ? thumbnailSize : mediumSize;
+            return processingService.renderVariant(original, target, size) ? Optional.of(target) : Optional.empty();
+        } catch (IOException e) {
+            log.warn("Failed to render {} variant of {}: {}", variant, hash, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    public static String hashOf(String photoUrl) {
+        if (photoUrl == null) {
+            return null;
+        }
+        Matcher matcher = BLOB_URL.matcher(photoUrl);
+        return matcher.matches() ? matcher.group(1) : null;
+    }
+
+    static String shardedPath(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private void scheduleThumbnail(Path filePath, Path thumbnailPath) {
+        try {
+            processingService.renderThumbnail(filePath, thumbnailPath, thumbnailSize);
+        } catch (TaskRejectedException e) {
+            // The thumbnail is rendered on its first request instead
+            log.warn("Photo processing queue is full, skipping background thumbnail for {}", filePath.getFileName());
+        }
+    }
+
+    /**
+     * Copies the upload to {@code tempFile}, hashing the bytes as written. JPEGs and PNGs lose their metadata
+     * on the way, since what gets stored is the stripped copy and that is what the hash has to name; one
+     * that turns out to be malformed is copied again as uploaded.
+     */
+    private Fingerprint spool(MultipartFile photo, Path tempFile) throws IOException {
+        Files.createDirectories(uploadPath);
+        byte[] header;
+        try (InputStream in = new BufferedInputStream(photo.getInputStream());
+             HashingOutputStream out = new HashingOutputStream(tempFile)) {
+            in.mark(SNIFF_LENGTH);
+            header = in.readNBytes(SNIFF_LENGTH);
+            in.reset();
+            try {
+                if (Fingerprint.isJpeg(header)) {
+                    processingService.copyWithoutExif(in, out);
+                } else if (Fingerprint.isPng(header)) {
+                    processingService.copyPngWithoutMetadata(in, out);
+                } else {
+                    in.transferTo(out);
+                }
+                out.flush();
+                return new Fingerprint(out.hash(), out.size, header);
+            } catch (IOException e) {
+                // A real I/O failure fails again below and is thrown from there
+                log.debug("Storing malformed image as uploaded: {}", e.getMessage());
+            }
+        }
+        try (InputStream in = photo.getInputStream(); HashingOutputStream out = new HashingOutputStream(tempFile)) {
+            in.transferTo(out);
+            out.flush();
+            return new Fingerprint(out.hash(), out.size, header);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Writes to a file (replacing it), keeping the SHA-256 and length of what was written. */
+    private static final class HashingOutputStream extends FilterOutputStream {
+        private final MessageDigest digest = sha256();
+        long size;
+
+        HashingOutputStream(Path file) throws IOException {
+            super(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)));
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            digest.update((byte) b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            digest.update(b, off, len);
+            size += len;
+        }
+
+        String hash() {
+            return HexFormat.of().formatHex(digest.digest());
+        }
+    }
+
+    private static final class Fingerprint {
+        final String hash;
+        final long size;
+        final String contentType;
+        final String extension;
+
+        Fingerprint(String hash, long size, byte[] header) {
+            this.hash = hash;
+            this.size = size;
+            // Sniffed from the bytes rather than the client filename, so identical content always maps to one path
+            if (isJpeg(header)) {
+                contentType = "image/jpeg";
+                extension = "jpg";
+            } else if (isPng(header)) {
+                contentType = "image/png";
+                extension = "png";
+            } else if (startsWith(header, 'G', 'I', 'F', '8')) {
+                contentType = "image/gif";
+                extension = "gif";
+            } else if (startsWith(header, 'R', 'I', 'F', 'F') && header.length >= 12
+                    && header[8] == 'W' && header[9] == 'E' && header[10] == 'B' && header[11] == 'P') {
+                contentType = "image/webp";
+                extension = "webp";
+            } else {
+                contentType = "application/octet-stream";
+                extension = "bin";
+            }
+        }
+
+        static boolean isJpeg(byte[] header) {
+            return startsWith(header, 0xFF, 0xD8, 0xFF);
+        }
+
+        static boolean isPng(byte[] header) {
+            return startsWith(header, 0x89, 'P', 'N', 'G');
+        }
+
+        private static boolean startsWith(byte[] data, int... prefix) {
+            if (data.length < prefix.length) {
+                return false;
+            }
+            for (int i = 0; i < prefix.length; i++) {
+                if ((data[i] & 0xFF) != prefix[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
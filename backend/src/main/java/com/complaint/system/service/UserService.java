@@ -2,25 +2,80 @@ package com.complaint.system.service;
 
 import com.complaint.system.entity.User;
 import com.complaint.system.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Service
 public class UserService implements UserDetailsService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
 
-    public UserService(UserRepository userRepository, @Lazy PasswordEncoder passwordEncoder) {
+    /**
+     * Users by email. Misses are cached too (as {@code Optional.empty()}) but for a much shorter time, so
+     * repeated lookups of unknown emails do not reach the database while new signups still show up quickly.
+     * Loads go through {@link CacheLoads}, which runs at most one loader per email at a time.
+     */
+    private final AsyncCache<String, Optional<User>> usersByEmail;
+
+    /** Registrations in progress, so concurrent first requests for a new email share one insert. */
+    private final ConcurrentMap<String, CompletableFuture<User>> registrations = new ConcurrentHashMap<>();
+
+    // Signup inserts wait on JDBC, so they run on virtual threads rather than on the BCrypt workers
+    private final ExecutorService signupInserts = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("signup-", 0).factory());
+
+    public UserService(UserRepository userRepository, @Lazy PasswordHashingService passwordHashingService,
+                       @Value("${complaints.user-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${complaints.user-cache.expire-after-write:PT10M}") Duration positiveTtl,
+                       @Value("${complaints.user-cache.negative-expire-after-write:PT30S}") Duration negativeTtl) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, Optional<User>>() {
+                    @Override
+                    public long expireAfterCreate(String email, Optional<User> user, long currentTime) {
+                        return (user.isPresent() ? positiveTtl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String email, Optional<User> user, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(email, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String email, Optional<User> user, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .buildAsync();
     }
 
     @Override
@@ -32,21 +87,105 @@ public class UserService implements UserDetailsService {
                 user.getEmail(), user.getPassword(), new ArrayList<>());
     }
 
-    public User createUser(String email, String password, String fullName, String phone) {
+    /**
+     * Registers a user. The existence check runs on the caller's thread and hashing on the password hashing
+     * pool; the insert is handed to a virtual thread, so a slow database never holds a BCrypt worker.
+     */
+    public CompletableFuture<User> createUser(String email, String password, String fullName, String phone) {
         if (userRepository.existsByEmail(email)) {
             throw new RuntimeException("Email already exists");
         }
         
-        User user = new User(email, passwordEncoder.encode(password), fullName);
-        user.setPhone(phone);
-        return userRepository.save(user);
+        return passwordHashingService.encode(password).thenApplyAsync(hash -> {
+            User user = new User(email, hash, fullName);
+            user.setPhone(phone);
+            User saved = userRepository.save(user);
+            usersByEmail.put(email, CompletableFuture.completedFuture(Optional.of(saved)));
+            return saved;
+        }, signupInserts);
     }
 
     public Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+        return CacheLoads.getOrLoad(usersByEmail, email, userRepository::findByEmail);
+    }
+
+    /**
+     * Resolves a user by email, registering one with a default password if none exists. Concurrent calls
+     * for the same new email share one load-or-create instead of racing into {@link #createUser}.
+     */
+    public User findOrCreateUser(String email, String fullName) {
+        Optional<User> existing = findByEmail(email);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        CompletableFuture<User> pending = new CompletableFuture<>();
+        CompletableFuture<User> inFlight = registrations.putIfAbsent(email, pending);
+        if (inFlight != null) {
+            return CacheLoads.join(inFlight);
+        }
+        try {
+            User user = userRepository.findByEmail(email).orElseGet(() -> register(email, fullName));
+            usersByEmail.put(email, CompletableFuture.completedFuture(Optional.of(user)));
+            pending.complete(user);
+            return user;
+        } catch (RuntimeException e) {
+            pending.completeExceptionally(e);
+            throw e;
+        } finally {
+            registrations.remove(email, pending);
+        }
+    }
+
+    private User register(String email, String fullName) {
+        try {
+            String hash = passwordHashingService.encode("password").join();
+            return userRepository.save(new User(email, hash, fullName));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance registered the same email first
+            return userRepository.findByEmail(email).orElseThrow(() -> e);
+        }
+    }
+
+    /**
+     * Resolves many emails with one query and registers the missing ones in a single insert, all sharing
+     * {@code passwordHash}, then reads those back (whether this call or a concurrent one registered them).
+     * Used by bulk import, where hashing a password per new user would dominate.
+     */
+    public Map<String, User> findOrCreateUsers(Collection<String> emails, String passwordHash) {
+        Map<String, User> users = new HashMap<>();
+        for (User user : userRepository.findByEmailIn(emails)) {
+            users.put(user.getEmail(), user);
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (String email : emails) {
+            if (!users.containsKey(email)) {
+                missing.add(email);
+            }
+        }
+        if (!missing.isEmpty()) {
+            userRepository.insertMissing(missing.toArray(String[]::new), passwordHash);
+            for (User user : userRepository.findByEmailIn(missing)) {
+                users.put(user.getEmail(), user);
+            }
+        }
+
+        users.values().forEach(user ->
+                usersByEmail.put(user.getEmail(), CompletableFuture.completedFuture(Optional.of(user))));
+        return users;
+    }
+
+    public Cache<String, Optional<User>> getUserCache() {
+        return usersByEmail.synchronous();
+    }
+
+    public CompletableFuture<Boolean> validatePassword(String rawPassword, String encodedPassword) {
+        return passwordHashingService.matches(rawPassword, encodedPassword);
     }
 
-    public boolean validatePassword(String rawPassword, String encodedPassword) {
-        return passwordEncoder.matches(rawPassword, encodedPassword);
+    @PreDestroy
+    public void shutdown() {
+        signupInserts.shutdown();
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+-- The schema exactly as Hibernate's ddl-auto=update created it from the original User and Complaint
+-- entities, including its generated constraint names. Databases that predate migrations are baselined at
+-- this version (spring.flyway.baseline-on-migrate), so this script only runs against an empty database and
+-- everything added since belongs in a later migration.
+
+CREATE TABLE users (
+    id         uuid NOT NULL,
+    created_at timestamp(6),
+    email      varchar(255),
+    full_name  varchar(255),
+    password   varchar(255),
+    phone      varchar(255),
+    updated_at timestamp(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE complaints (
+    id          uuid NOT NULL,
+    category    varchar(255),
+    created_at  timestamp(6),
+    description varchar(255),
+    location    varchar(255),
+    photo_url   varchar(255),
+    priority    varchar(255) CHECK (priority IN ('LOW', 'MEDIUM', 'HIGH')),
+    status      varchar(255) CHECK (status IN ('PENDING', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    title       varchar(255),
+    updated_at  timestamp(6),
+    upvotes     integer,
+    user_email  varchar(255),
+    user_id     uuid,
+    PRIMARY KEY (id)
+);
+
+ALTER TABLE users ADD CONSTRAINT uk_6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email);
+
+ALTER TABLE complaints ADD CONSTRAINT fk83j5gqkd7ku4vc908g4rtmglr FOREIGN KEY (user_id) REFERENCES users;
@@ -0,0 +1,45 @@
+-- Everything added to the original schema before migrations existed. Those databases are baselined at V1,
+-- and depending on when they were created they may have none, some or all of this (from ddl-auto=update
+-- and the old schema.sql), so every statement is IF NOT EXISTS.
+
+-- Coordinates for nearby search
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS latitude float(53);
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS longitude float(53);
+
+-- One row per (complaint, user) vote, used to deduplicate upvotes
+CREATE TABLE IF NOT EXISTS complaint_upvotes (
+    id           uuid         NOT NULL PRIMARY KEY,
+    complaint_id uuid         NOT NULL,
+    user_email   varchar(255) NOT NULL,
+    created_at   timestamp(6)
+);
+
+-- A table created by ddl-auto already has this as a constraint, whose index carries the same name
+CREATE UNIQUE INDEX IF NOT EXISTS uk_complaint_upvotes_complaint_user
+    ON complaint_upvotes (complaint_id, user_email);
+
+-- Reference counts for content-addressed photo files
+CREATE TABLE IF NOT EXISTS photo_blobs (
+    hash          varchar(64)  NOT NULL PRIMARY KEY,
+    relative_path varchar(255) NOT NULL,
+    content_type  varchar(255),
+    size_bytes    bigint,
+    ref_count     integer      NOT NULL,
+    created_at    timestamp(6),
+    updated_at    timestamp(6)
+);
+
+-- Full-text search: a stored tsvector kept in sync by PostgreSQL itself, weighted title > location > description
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(location, '')), 'B') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'C')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_complaints_search_vector ON complaints USING GIN (search_vector);
+
+-- Nearby search: GiST index over the coordinates as a geometric point, used for both the box test and
+-- nearest-first ordering; complaints without coordinates are left out of the index
+CREATE INDEX IF NOT EXISTS idx_complaints_location_point ON complaints USING GIST (point(longitude, latitude))
+    WHERE latitude IS NOT NULL AND longitude IS NOT NULL;
@@ -0,0 +1,37 @@
+-- Indexes for the repository queries that used to scan complaints. IF NOT EXISTS keeps this safe on
+-- databases baselined from a schema that was tuned by hand.
+
+-- Filtered listing and export (findPage, streamForExport, findByStatus): equality on status and category,
+-- then the keyset order, so a page is an index range read with no sort
+CREATE INDEX IF NOT EXISTS idx_complaints_status_category_created
+    ON complaints (status, category, created_at DESC, id DESC);
+
+-- Unfiltered listing and category-only filters (findPage, findByCategory)
+CREATE INDEX IF NOT EXISTS idx_complaints_created ON complaints (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_complaints_category_created ON complaints (category, created_at DESC);
+
+-- "My complaints" (findByUser, findSummariesByUser); also covers the foreign key for user deletes
+CREATE INDEX IF NOT EXISTS idx_complaints_user_created ON complaints (user_id, created_at DESC, id DESC);
+
+-- Open complaints (triage queue and duplicate index loads, status-filtered listing of open work). Resolved
+-- complaints dominate the table over time, so leaving them out keeps this index small
+CREATE INDEX IF NOT EXISTS idx_complaints_open
+    ON complaints (status, priority, created_at)
+    WHERE status IN ('PENDING', 'IN_PROGRESS');
+
+-- Photo sweep (findUnreferenced) only looks at blobs nobody references any more
+CREATE INDEX IF NOT EXISTS idx_photo_blobs_unreferenced ON photo_blobs (updated_at) WHERE ref_count <= 0;
+
+-- UserService.findOrCreateUsers relies on email being unique. Databases created by ddl-auto have the
+-- constraint from V1, but hand-built ones may not; add one only when no unique index on the column exists
+DO $$
+BEGIN
+    IF NOT EXISTS (
+        SELECT 1
+        FROM pg_index i
+        JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0]
+        WHERE i.indrelid = 'users'::regclass AND i.indisunique AND i.indnatts = 1 AND a.attname = 'email'
+    ) THEN
+        CREATE UNIQUE INDEX uk_users_email ON users (email);
+    END IF;
+END $$;
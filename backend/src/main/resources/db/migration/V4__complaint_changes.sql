@@ -0,0 +1,9 @@
+-- Change feed (GET /api/complaints/changes): deletions become a deleted_at stamp so a client syncing from
+-- a watermark still learns about them, and the feed reads rows in (updated_at, id) order.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS deleted_at timestamp(6);
+
+-- Rows written before updated_at was maintained would otherwise never appear in the feed
+UPDATE complaints SET updated_at = created_at WHERE updated_at IS NULL;
+
+-- Keyset scan for findChangedSince: a range on updated_at, already in the feed's order
+CREATE INDEX IF NOT EXISTS idx_complaints_updated ON complaints (updated_at, id);
@@ -0,0 +1,24 @@
+-- Append-only history of complaint status changes, written by ComplaintStatusEventWriter. from_status is
+-- NULL on the event recording a complaint's creation. Read by the SLA report (GET /api/complaints/sla).
+CREATE TABLE complaint_status_events (
+    id           uuid         NOT NULL PRIMARY KEY,
+    complaint_id uuid         NOT NULL REFERENCES complaints (id),
+    from_status  varchar(255) CHECK (from_status IN ('PENDING', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    to_status    varchar(255) NOT NULL CHECK (to_status IN ('PENDING', 'IN_PROGRESS', 'RESOLVED', 'REJECTED')),
+    changed_at   timestamp(6) NOT NULL
+);
+
+-- One complaint's history in order, and the SLA report's scan of a recent time window
+CREATE INDEX idx_complaint_status_events_complaint ON complaint_status_events (complaint_id, changed_at);
+CREATE INDEX idx_complaint_status_events_changed ON complaint_status_events (changed_at);
+
+-- Seed the history of existing complaints: their creation, and their current status if it moved on. When
+-- that change happened is not recorded anywhere, so updated_at (the last write of any kind) stands in.
+INSERT INTO complaint_status_events (id, complaint_id, from_status, to_status, changed_at)
+SELECT gen_random_uuid(), id, NULL, 'PENDING', coalesce(created_at, updated_at, CURRENT_TIMESTAMP)
+FROM complaints;
+
+INSERT INTO complaint_status_events (id, complaint_id, from_status, to_status, changed_at)
+SELECT gen_random_uuid(), id, 'PENDING', status, coalesce(updated_at, created_at, CURRENT_TIMESTAMP)
+FROM complaints
+WHERE status IS NOT NULL AND status <> 'PENDING';
@@ -0,0 +1,24 @@
+-- Change feed order (GET /api/complaints/changes). Every write stamps the row with the id of the transaction
+-- that made it. updated_at is taken before commit, so a slow transaction can commit a value older than rows
+-- already handed out; a transaction id below the oldest one still running can no longer gain rows, so the
+-- feed only moves its watermark past ids that are final.
+ALTER TABLE complaints ADD COLUMN IF NOT EXISTS change_xid bigint;
+
+-- Existing rows count as written by this migration
+UPDATE complaints SET change_xid = CAST(CAST(pg_current_xact_id() AS text) AS bigint) WHERE change_xid IS NULL;
+ALTER TABLE complaints ALTER COLUMN change_xid SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION complaints_stamp_change_xid() RETURNS trigger AS $$
+BEGIN
+    NEW.change_xid := CAST(CAST(pg_current_xact_id() AS text) AS bigint);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS complaints_change_xid ON complaints;
+CREATE TRIGGER complaints_change_xid BEFORE INSERT OR UPDATE ON complaints
+    FOR EACH ROW EXECUTE FUNCTION complaints_stamp_change_xid();
+
+-- Keyset scan for findChangedSince, replacing the (updated_at, id) index it used to read
+CREATE INDEX IF NOT EXISTS idx_complaints_change_xid ON complaints (change_xid, id);
+DROP INDEX IF EXISTS idx_complaints_updated;
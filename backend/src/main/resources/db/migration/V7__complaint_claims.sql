@@ -0,0 +1,7 @@
+-- Triage leases (POST /api/complaints/queue/claim). Every instance keeps its own in-memory queue; this table
+-- decides which agent holds a complaint, so two instances cannot hand the same one out.
+CREATE TABLE IF NOT EXISTS complaint_claims (
+    complaint_id uuid PRIMARY KEY REFERENCES complaints (id),
+    agent varchar(255) NOT NULL,
+    expires_at timestamp(6) with time zone NOT NULL
+);
@@ -0,0 +1,140 @@
+package com.complaint.system.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AimdConcurrencyLimitTest {
+
+    private static final Duration THRESHOLD = Duration.ofSeconds(10);
+
+    @Test
+    void admitsUpToTheLimitAndFreesSlotsOnRelease() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 3, THRESHOLD, 0.5);
+        long start = admittedAfterConstruction();
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(3);
+
+        limit.release(start, false);
+        assertThat(limit.getInFlight()).isEqualTo(2);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void failureCutsTheLimitMultiplicatively() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 10, THRESHOLD, 0.5);
+        long start = admittedAfterConstruction();
+
+        limit.tryAcquire();
+        limit.release(start, true);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void slowResponseCountsAsFailure() throws InterruptedException {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 10, Duration.ofMillis(1), 0.5);
+        long start = admittedAfterConstruction();
+
+        limit.tryAcquire();
+        Thread.sleep(5);
+        limit.release(start, false);
+
+        assertThat(limit.getLimit()).isEqualTo(5);
+    }
+
+    @Test
+    void cutsAtMostOncePerRoundTrip() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 16, THRESHOLD, 0.5);
+        long together = admittedAfterConstruction();
+        limit.tryAcquire();
+        limit.tryAcquire();
+        limit.tryAcquire();
+
+        // Three requests in flight together all fail; only the first failure cuts
+        limit.release(together, true);
+        limit.release(together, true);
+        limit.release(together, true);
+        assertThat(limit.getLimit()).isEqualTo(8);
+
+        // A request admitted after that cut may cut again
+        long later = after(System.nanoTime());
+        limit.tryAcquire();
+        limit.release(later, true);
+        assertThat(limit.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void neverDropsBelowTheMinimum() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(3, 4, THRESHOLD, 0.1);
+
+        limit.tryAcquire();
+        limit.release(admittedAfterConstruction(), true);
+
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    void growsByAboutOnePerLimitOfFastResponsesWhileInUse() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 10, THRESHOLD, 0.5);
+        limit.tryAcquire();
+        limit.release(admittedAfterConstruction(), true);
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        // Only the release made with three of five slots in use counts; ten of those add about two
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(start, false);
+            limit.release(start, false);
+            limit.release(start, false);
+        }
+        assertThat(limit.getLimit()).isBetween(6, 7);
+    }
+
+    @Test
+    void doesNotGrowWhileMostlyIdleOrPastTheMaximum() {
+        AimdConcurrencyLimit limit = new AimdConcurrencyLimit(1, 10, THRESHOLD, 0.5);
+        limit.tryAcquire();
+        limit.release(admittedAfterConstruction(), true);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(start, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(5);
+
+        AimdConcurrencyLimit full = new AimdConcurrencyLimit(1, 2, THRESHOLD, 0.5);
+        for (int i = 0; i < 50; i++) {
+            full.tryAcquire();
+            full.tryAcquire();
+            full.release(start, false);
+            full.release(start, false);
+        }
+        assertThat(full.getLimit()).isEqualTo(2);
+    }
+
+    /**
+     * An admission time strictly after the limit's construction, which the limit treats as its last cut.
+     */
+    private static long admittedAfterConstruction() {
+        return after(System.nanoTime());
+    }
+
+    private static long after(long nanos) {
+        long now;
+        do {
+            now = System.nanoTime();
+        } while (now - nanos <= 0);
+        return now;
+    }
+}
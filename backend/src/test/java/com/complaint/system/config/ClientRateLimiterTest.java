@@ -0,0 +1,54 @@
+package com.complaint.system.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ClientRateLimiterTest {
+
+    @Test
+    void admitsABurstThenAsksTheClientToWait() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 3, 100);
+
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+
+        long wait = limiter.tryAcquire("ip:1");
+        assertThat(wait).isPositive().isLessThanOrEqualTo(TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void rejectedRequestsTakeNoToken() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100);
+        limiter.tryAcquire("ip:1");
+
+        long first = limiter.tryAcquire("ip:1");
+        long second = limiter.tryAcquire("ip:1");
+
+        // Had the rejection consumed a token the second wait would be a full interval longer
+        assertThat(second).isPositive().isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void keepsSeparateBucketsPerKey() {
+        ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100);
+
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isPositive();
+        assertThat(limiter.tryAcquire("ip:2")).isZero();
+        assertThat(limiter.tryAcquire("email:a@example.com")).isZero();
+    }
+
+    @Test
+    void refillsAtTheConfiguredRate() throws InterruptedException {
+        ClientRateLimiter limiter = new ClientRateLimiter(100, 1, 100);
+
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+        assertThat(limiter.tryAcquire("ip:1")).isPositive();
+        Thread.sleep(15);
+        assertThat(limiter.tryAcquire("ip:1")).isZero();
+    }
+}
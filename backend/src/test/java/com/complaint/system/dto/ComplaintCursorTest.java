@@ -0,0 +1,68 @@
+package com.complaint.system.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ComplaintCursorTest {
+
+    @Test
+    void roundTripsCreatedAtAndId() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30, 45, 123_456_000);
+        UUID id = UUID.randomUUID();
+
+        ComplaintCursor decoded = ComplaintCursor.decode(new ComplaintCursor(createdAt, id).encode());
+
+        assertThat(decoded.getCreatedAt()).isEqualTo(createdAt);
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void roundTripsWholeSecondTimestamps() {
+        // LocalDateTime.toString() drops the seconds when they are zero; parse has to accept that form
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 12, 30);
+        UUID id = UUID.randomUUID();
+
+        assertThat(ComplaintCursor.decode(new ComplaintCursor(createdAt, id).encode()).getCreatedAt())
+                .isEqualTo(createdAt);
+    }
+
+    @Test
+    void roundTripsMissingCreatedAt() {
+        UUID id = UUID.randomUUID();
+
+        ComplaintCursor decoded = ComplaintCursor.decode(new ComplaintCursor(null, id).encode());
+
+        assertThat(decoded.getCreatedAt()).isNull();
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void encodesAsUrlSafeBase64WithoutPadding() {
+        String token = new ComplaintCursor(LocalDateTime.of(2024, 3, 1, 12, 30, 45), UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        assertThatThrownBy(() -> ComplaintCursor.decode("not base64!"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(encode("2024-03-01T12:30:45")))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(encode("yesterday|" + UUID.randomUUID())))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ComplaintCursor.decode(encode("2024-03-01T12:30:45|not-a-uuid")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,70 @@
+package com.complaint.system.dto;
+
+import com.complaint.system.entity.Complaint.Priority;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TriageEntryTest {
+
+    private static final LocalDateTime EARLY = LocalDateTime.of(2024, 3, 1, 9, 0);
+    private static final LocalDateTime LATE = EARLY.plusHours(1);
+
+    @Test
+    void ordersByPriorityThenUpvotesThenAge() {
+        TriageEntry highOld = entry(Priority.HIGH, 0, EARLY);
+        TriageEntry highNew = entry(Priority.HIGH, 0, LATE);
+        TriageEntry highVoted = entry(Priority.HIGH, 5, LATE);
+        TriageEntry mediumVoted = entry(Priority.MEDIUM, 50, EARLY);
+        TriageEntry low = entry(Priority.LOW, 100, EARLY);
+
+        assertThat(sorted(low, highNew, mediumVoted, highOld, highVoted))
+                .containsExactly(highVoted, highOld, highNew, mediumVoted, low);
+    }
+
+    @Test
+    void breaksFullTiesByIdSoNoTwoEntriesCompareEqual() {
+        TriageEntry a = new TriageEntry(new UUID(0, 1), Priority.MEDIUM, 3, EARLY);
+        TriageEntry b = new TriageEntry(new UUID(0, 2), Priority.MEDIUM, 3, EARLY);
+
+        assertThat(a.compareTo(b)).isNegative();
+        assertThat(b.compareTo(a)).isPositive();
+        assertThat(a.compareTo(a)).isZero();
+        // A sorted set keeps both, as the queue's skip list has to
+        assertThat(new TreeSet<>(List.of(b, a))).containsExactly(a, b);
+    }
+
+    @Test
+    void sortsMissingPriorityAndCreationTimeLast() {
+        TriageEntry low = entry(Priority.LOW, 0, EARLY);
+        TriageEntry noPriority = entry(null, 100, EARLY);
+        TriageEntry dated = entry(Priority.HIGH, 0, LATE);
+        TriageEntry undated = entry(Priority.HIGH, 0, null);
+
+        assertThat(sorted(noPriority, undated, low, dated)).containsExactly(dated, undated, low, noPriority);
+    }
+
+    @Test
+    void withUpvotesKeepsEverythingElse() {
+        TriageEntry entry = entry(Priority.HIGH, 1, EARLY);
+
+        assertThat(entry.withUpvotes(7)).isEqualTo(new TriageEntry(entry.id(), Priority.HIGH, 7, EARLY));
+    }
+
+    private static TriageEntry entry(Priority priority, int upvotes, LocalDateTime createdAt) {
+        return new TriageEntry(UUID.randomUUID(), priority, upvotes, createdAt);
+    }
+
+    private static List<TriageEntry> sorted(TriageEntry... entries) {
+        List<TriageEntry> list = new ArrayList<>(List.of(entries));
+        Collections.sort(list);
+        return list;
+    }
+}
@@ -0,0 +1,159 @@
+package com.complaint.system.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Wraps the application's DataSource so that, while {@link #record} runs, every statement Hibernate prepares
+ * is also EXPLAINed on the same connection with the same bound parameters. The planner then sees the values
+ * the real statement carries, as it does for the custom plans the driver's unnamed statements get, so
+ * optional filters passed as null fold away exactly as they do in production.
+ */
+class QueryPlanRecorder implements BeanPostProcessor {
+
+    /** The {@code deleted_at IS NULL} test keeps nearly every row, so no index is meant to serve it. */
+    private static final String LIVE_ROWS_FILTER = "(deleted_at IS NULL)";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<String> statements = new ArrayList<>();
+    private final List<String> scans = new ArrayList<>();
+    private boolean recording;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        return bean instanceof DataSource dataSource ? wrap(dataSource) : bean;
+    }
+
+    /**
+     * Runs {@code queries} and returns the scans that read a whole table or index. Fails if no statement
+     * reached the database, which would make an empty result meaningless.
+     */
+    List<String> record(Runnable queries) {
+        statements.clear();
+        scans.clear();
+        recording = true;
+        try {
+            queries.run();
+        } finally {
+            recording = false;
+        }
+        if (statements.isEmpty()) {
+            throw new IllegalStateException("No statement was sent to the database");
+        }
+        return List.copyOf(scans);
+    }
+
+    private DataSource wrap(DataSource dataSource) {
+        return (DataSource) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{DataSource.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(dataSource, method, args);
+                    return result instanceof Connection connection ? wrap(connection) : result;
+                });
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement) {
+                        return wrap(statement, connection, (String) args[0]);
+                    }
+                    return result;
+                });
+    }
+
+    private PreparedStatement wrap(PreparedStatement statement, Connection connection, String sql) {
+        List<Object[]> bindings = new ArrayList<>();
+        List<Method> setters = new ArrayList<>();
+        return (PreparedStatement) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                        setters.add(method);
+                        bindings.add(args);
+                    } else if (recording && name.startsWith("execute") && (args == null || args.length == 0)) {
+                        explain(connection, sql, setters, bindings);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private void explain(Connection connection, String sql, List<Method> setters, List<Object[]> bindings)
+            throws Exception {
+        statements.add(sql);
+        String plan;
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (FORMAT JSON) " + sql)) {
+            for (int i = 0; i < setters.size(); i++) {
+                setters.get(i).invoke(explain, bindings.get(i));
+            }
+            try (ResultSet result = explain.executeQuery()) {
+                result.next();
+                plan = result.getString(1);
+            }
+        }
+        collectScans(objectMapper.readTree(plan).path(0).path("Plan"), connection, sql);
+    }
+
+    private void collectScans(JsonNode node, Connection connection, String sql) throws SQLException {
+        String type = node.path("Node Type").asText();
+        String relation = node.path("Relation Name").asText();
+        if (type.equals("Seq Scan")) {
+            scans.add("sequential scan on " + relation + " in: " + sql);
+        } else if (type.contains("Index") && readsWholeIndex(node, connection)) {
+            scans.add("full scan of " + node.path("Index Name").asText() + " on " + relation + " in: " + sql);
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectScans(child, connection, sql);
+        }
+    }
+
+    /**
+     * True when an index scan filters rows without narrowing the index range, or narrows it on a column that
+     * is not the index's leading one (what the planner falls back to when only an unrelated index exists).
+     * A scan with no condition and no filter other than the live-rows test is reading the index for its
+     * order, as a LIMIT query does, and is fine.
+     */
+    private boolean readsWholeIndex(JsonNode node, Connection connection) throws SQLException {
+        if (!node.has("Index Cond")) {
+            return node.has("Filter") && !node.path("Filter").asText().equals(LIVE_ROWS_FILTER);
+        }
+        String leading = null;
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT a.attname FROM pg_index i " +
+                "JOIN pg_class c ON c.oid = i.indexrelid " +
+                "JOIN pg_attribute a ON a.attrelid = i.indrelid AND a.attnum = i.indkey[0] " +
+                "WHERE c.relname = ?")) {
+            statement.setString(1, node.path("Index Name").asText());
+            try (ResultSet result = statement.executeQuery()) {
+                if (result.next()) {
+                    leading = result.getString(1);
+                }
+            }
+        }
+        // Expression indexes have no plain leading column; their condition is on the expression itself
+        return leading != null
+                && !Pattern.compile("\\b" + Pattern.quote(leading) + "\\b").matcher(node.path("Index Cond").asText()).find();
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
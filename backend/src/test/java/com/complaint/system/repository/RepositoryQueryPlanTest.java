@@ -0,0 +1,213 @@
+package com.complaint.system.repository;
+
+import com.complaint.system.entity.Complaint;
+import com.complaint.system.entity.User;
+import com.complaint.system.service.ComplaintTriageQueue;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks that the hot repository queries are answered by an index. The schema comes from the Flyway
+ * migrations, and each test runs with sequential scans disabled, which makes the planner use any index able
+ * to serve a query however small the table is. A plan that still scans a table, or reads a whole index,
+ * means no usable index exists.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(QueryPlanRecorder.class)
+@Testcontainers(disabledWithoutDocker = true)
+class RepositoryQueryPlanTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private QueryPlanRecorder recorder;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ComplaintRepository complaintRepository;
+
+    @Autowired
+    private ComplaintUpvoteRepository upvoteRepository;
+
+    @Autowired
+    private ComplaintStatusEventRepository statusEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PhotoBlobRepository photoBlobRepository;
+
+    @Autowired
+    private ComplaintClaimRepository claimRepository;
+
+    private User user;
+    private Complaint complaint;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(new User("someone@example.com", "secret", "Someone"));
+        complaint = complaintRepository.save(new Complaint("Pothole", "Deep pothole", "roads", "Main Street", user));
+        entityManager.flush();
+        // SET LOCAL lasts until the end of the test's transaction
+        entityManager.createNativeQuery("SET LOCAL enable_seqscan = off").executeUpdate();
+    }
+
+    @Test
+    void findPageFilteredByStatusAndCategory() {
+        assertServedByIndexes(() -> complaintRepository.findPage(Complaint.Status.PENDING, "roads", null,
+                null, null, null, null, Limit.of(51)));
+    }
+
+    @Test
+    void findPageFilteredByCategory() {
+        assertServedByIndexes(() -> complaintRepository.findPage(null, "roads", null,
+                null, null, null, null, Limit.of(51)));
+    }
+
+    @Test
+    void findPageUnfiltered() {
+        assertServedByIndexes(() -> complaintRepository.findPage(null, null, null,
+                null, null, null, null, Limit.of(51)));
+    }
+
+    @Test
+    void findPageAfterCursor() {
+        assertServedByIndexes(() -> complaintRepository.findPage(null, null, null,
+                null, null, LocalDateTime.now(), UUID.randomUUID(), Limit.of(51)));
+    }
+
+    @Test
+    void findByStatus() {
+        assertServedByIndexes(() -> complaintRepository.findByStatus(Complaint.Status.RESOLVED));
+    }
+
+    @Test
+    void findByCategory() {
+        assertServedByIndexes(() -> complaintRepository.findByCategory("roads"));
+    }
+
+    @Test
+    void findTriageEntries() {
+        assertServedByIndexes(() -> complaintRepository.findTriageEntries(ComplaintTriageQueue.OPEN_STATUSES));
+    }
+
+    @Test
+    void streamByStatusIn() {
+        assertServedByIndexes(() -> {
+            try (Stream<?> open = complaintRepository.streamByStatusIn(ComplaintTriageQueue.OPEN_STATUSES)) {
+                open.forEach(summary -> { });
+            }
+        });
+    }
+
+    @Test
+    void findSummariesByUser() {
+        assertServedByIndexes(() -> complaintRepository.findSummariesByUser(user));
+    }
+
+    @Test
+    void findSummariesAndDetailById() {
+        assertServedByIndexes(() -> {
+            complaintRepository.findSummariesByIdIn(List.of(complaint.getId(), UUID.randomUUID()));
+            complaintRepository.findDetailById(complaint.getId());
+        });
+    }
+
+    @Test
+    void upvoteStatements() {
+        assertServedByIndexes(() -> {
+            upvoteRepository.insertIfAbsent(UUID.randomUUID(), complaint.getId(), "voter@example.com");
+            complaintRepository.incrementUpvotes(complaint.getId(), LocalDateTime.now());
+            complaintRepository.findUpvotesById(complaint.getId());
+        });
+    }
+
+    @Test
+    void updateStatus() {
+        assertServedByIndexes(() -> complaintRepository.updateStatus(complaint.getId(),
+                Complaint.Status.PENDING, Complaint.Status.IN_PROGRESS, LocalDateTime.now()));
+    }
+
+    @Test
+    void search() {
+        assertServedByIndexes(() -> complaintRepository.search("pothole:*", null, null, 51, 0));
+        assertServedByIndexes(() -> complaintRepository.search("pothole:*", "roads", "PENDING", 51, 0));
+    }
+
+    @Test
+    void findNearby() {
+        assertServedByIndexes(() -> complaintRepository.findNearby(40.705, -74.005,
+                40.70, -74.01, 40.71, -74.00, null, null, 80));
+    }
+
+    @Test
+    void findChangedSince() {
+        assertServedByIndexes(() -> complaintRepository.findChangedSince(0,
+                new UUID(0, 0), complaintRepository.findChangeHorizon(), Limit.of(51)));
+    }
+
+    @Test
+    void claimStatements() {
+        Instant now = Instant.now();
+        assertServedByIndexes(() -> {
+            claimRepository.claim(complaint.getId(), "agent", now.plusSeconds(900), now);
+            claimRepository.renew(complaint.getId(), "agent", now.plusSeconds(1800), now);
+            claimRepository.release(complaint.getId(), "agent", now);
+        });
+    }
+
+    @Test
+    void slaPercentiles() {
+        LocalDateTime since = LocalDateTime.now().minusDays(30);
+        assertServedByIndexes(() -> {
+            statusEventRepository.findTimeInStatusPercentiles(since);
+            statusEventRepository.findTimeToResolutionPercentiles(since);
+        });
+    }
+
+    @Test
+    void findUserByEmail() {
+        assertServedByIndexes(() -> userRepository.findByEmail("someone@example.com"));
+    }
+
+    @Test
+    void insertMissingUsers() {
+        assertServedByIndexes(() -> userRepository.insertMissing(
+                new String[] {"someone@example.com", "new@example.com"}, "secret"));
+        assertThat(userRepository.findByEmailIn(List.of("someone@example.com", "new@example.com"))).hasSize(2);
+    }
+
+    @Test
+    void findUnreferencedPhotos() {
+        assertServedByIndexes(() -> photoBlobRepository.findUnreferenced(LocalDateTime.now()));
+        assertServedByIndexes(() -> photoBlobRepository.lockIfUnreferenced("0".repeat(64)));
+    }
+
+    private void assertServedByIndexes(Runnable queries) {
+        assertThat(recorder.record(queries)).isEmpty();
+    }
+}
@@ -0,0 +1,98 @@
+package com.complaint.system.service;
+
+import com.complaint.system.entity.Complaint;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Exercises the in-memory side of the index: only {@link ComplaintDuplicateIndex#reconcile()} needs the
+ * repository, so none is given.
+ */
+class ComplaintDuplicateIndexTest {
+
+    private static final String TITLE = "Large pothole on Oak Avenue";
+    private static final String DESCRIPTION = "Deep pothole near the school crossing, cars swerving around it";
+    private static final String LOCATION = "Oak Avenue";
+
+    @Test
+    void findsANearDuplicateInTheSameCategory() {
+        ComplaintDuplicateIndex index = index(0.6);
+        Complaint original = track(index, "Roads", TITLE, DESCRIPTION);
+        track(index, "Roads", "Streetlight out", "Streetlight on Pine Road has been dark for a week");
+
+        List<ComplaintDuplicateIndex.Match> matches = index.findSimilar(" roads ", "Large pothole on Oak Ave",
+                "Deep pothole near the school crossing, cars swerve around it", LOCATION, 5);
+
+        assertThat(matches).extracting(ComplaintDuplicateIndex.Match::id).containsExactly(original.getId());
+    }
+
+    @Test
+    void ignoresOtherCategories() {
+        ComplaintDuplicateIndex index = index(0.6);
+        track(index, "Roads", TITLE, DESCRIPTION);
+
+        assertThat(index.findSimilar("Lighting", TITLE, DESCRIPTION, LOCATION, 5)).isEmpty();
+    }
+
+    @Test
+    void includesMatchesExactlyAtTheThresholdAndExcludesThoseBelow() {
+        String otherDescription = "Deep pothole by the school crossing where cars keep swerving";
+        double similarity = MinHash.similarity(
+                MinHash.signature(String.join(" ", TITLE, LOCATION, DESCRIPTION)),
+                MinHash.signature(String.join(" ", TITLE, LOCATION, otherDescription)));
+        assertThat(similarity).isLessThan(1.0);
+
+        ComplaintDuplicateIndex atThreshold = index(similarity);
+        Complaint original = track(atThreshold, "Roads", TITLE, DESCRIPTION);
+        assertThat(atThreshold.findSimilar("Roads", TITLE, otherDescription, LOCATION, 5))
+                .containsExactly(new ComplaintDuplicateIndex.Match(original.getId(), similarity));
+
+        ComplaintDuplicateIndex aboveThreshold = index(similarity + 1.0 / MinHash.SIZE);
+        track(aboveThreshold, "Roads", TITLE, DESCRIPTION);
+        assertThat(aboveThreshold.findSimilar("Roads", TITLE, otherDescription, LOCATION, 5)).isEmpty();
+    }
+
+    @Test
+    void ordersMatchesMostSimilarFirstAndHonoursTheLimit() {
+        ComplaintDuplicateIndex index = index(0.3);
+        Complaint exact = track(index, "Roads", TITLE, DESCRIPTION);
+        Complaint close = track(index, "Roads", TITLE, "Deep pothole near the school crossing");
+        track(index, "Roads", TITLE, "Pothole");
+
+        List<ComplaintDuplicateIndex.Match> matches = index.findSimilar("Roads", TITLE, DESCRIPTION, LOCATION, 2);
+
+        assertThat(matches).extracting(ComplaintDuplicateIndex.Match::id).containsExactly(exact.getId(), close.getId());
+        assertThat(matches.get(0).similarity()).isEqualTo(1.0);
+    }
+
+    @Test
+    void dropsComplaintsOnceClosed() {
+        ComplaintDuplicateIndex index = index(0.6);
+        Complaint original = track(index, "Roads", TITLE, DESCRIPTION);
+
+        original.setStatus(Complaint.Status.RESOLVED);
+        index.track(original);
+
+        assertThat(index.findSimilar("Roads", TITLE, DESCRIPTION, LOCATION, 5)).isEmpty();
+        assertThat(index.size()).isZero();
+    }
+
+    private static ComplaintDuplicateIndex index(double threshold) {
+        return new ComplaintDuplicateIndex(null, null, threshold);
+    }
+
+    private static Complaint track(ComplaintDuplicateIndex index, String category, String title, String description) {
+        Complaint complaint = new Complaint();
+        complaint.setId(UUID.randomUUID());
+        complaint.setTitle(title);
+        complaint.setDescription(description);
+        complaint.setCategory(category);
+        complaint.setLocation(LOCATION);
+        index.track(complaint);
+        return complaint;
+    }
+}
@@ -0,0 +1,78 @@
+package com.complaint.system.service;
+
+import com.complaint.system.entity.Complaint;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The in-memory ordering of the queue. Leases and {@link ComplaintTriageQueue#reconcile()} need the
+ * repositories, so none are given and those paths are not exercised here.
+ */
+class ComplaintTriageQueueTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 3, 1, 9, 0);
+
+    private final ComplaintTriageQueue queue = new ComplaintTriageQueue(null, null, Duration.ofMinutes(15));
+
+    @Test
+    void peeksMostUrgentFirstWithTiesInIdOrder() {
+        Complaint tiedB = track(new UUID(0, 2), Complaint.Priority.MEDIUM, 0, NOW);
+        Complaint tiedA = track(new UUID(0, 1), Complaint.Priority.MEDIUM, 0, NOW);
+        Complaint high = track(UUID.randomUUID(), Complaint.Priority.HIGH, 0, NOW.plusDays(1));
+        Complaint older = track(UUID.randomUUID(), Complaint.Priority.MEDIUM, 0, NOW.minusDays(1));
+
+        assertThat(queue.peek(10)).containsExactly(high.getId(), older.getId(), tiedA.getId(), tiedB.getId());
+        assertThat(queue.peek(2)).containsExactly(high.getId(), older.getId());
+    }
+
+    @Test
+    void upvotesReorderAndLateLowerCountsAreIgnored() {
+        Complaint first = track(UUID.randomUUID(), Complaint.Priority.LOW, 0, NOW);
+        Complaint second = track(UUID.randomUUID(), Complaint.Priority.LOW, 0, NOW.plusMinutes(1));
+
+        queue.updateUpvotes(second.getId(), 3);
+        assertThat(queue.peek(10)).containsExactly(second.getId(), first.getId());
+
+        // An earlier upvote's callback arriving after a later one must not move the entry back
+        queue.updateUpvotes(second.getId(), 2);
+        queue.updateUpvotes(first.getId(), 2);
+        assertThat(queue.peek(10)).containsExactly(second.getId(), first.getId());
+    }
+
+    @Test
+    void closedComplaintsLeaveTheQueue() {
+        Complaint open = track(UUID.randomUUID(), Complaint.Priority.HIGH, 0, NOW);
+        Complaint resolved = track(UUID.randomUUID(), Complaint.Priority.HIGH, 0, NOW.plusMinutes(1));
+
+        resolved.setStatus(Complaint.Status.RESOLVED);
+        queue.track(resolved);
+
+        assertThat(queue.peek(10)).containsExactly(open.getId());
+    }
+
+    @Test
+    void retrackingReplacesRatherThanDuplicates() {
+        Complaint complaint = track(UUID.randomUUID(), Complaint.Priority.LOW, 0, NOW);
+        Complaint other = track(UUID.randomUUID(), Complaint.Priority.MEDIUM, 0, NOW);
+
+        complaint.setPriority(Complaint.Priority.HIGH);
+        queue.track(complaint);
+
+        assertThat(queue.peek(10)).containsExactly(complaint.getId(), other.getId());
+    }
+
+    private Complaint track(UUID id, Complaint.Priority priority, int upvotes, LocalDateTime createdAt) {
+        Complaint complaint = new Complaint();
+        complaint.setId(id);
+        complaint.setPriority(priority);
+        complaint.setUpvotes(upvotes);
+        complaint.setCreatedAt(createdAt);
+        queue.track(complaint);
+        return complaint;
+    }
+}
@@ -0,0 +1,71 @@
+package com.complaint.system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFieldsOnCommas() throws IOException {
+        assertThat(readAll("title,description\nPothole,Deep one\n"))
+                .containsExactly(List.of("title", "description"), List.of("Pothole", "Deep one"));
+    }
+
+    @Test
+    void keepsEmptyFields() throws IOException {
+        assertThat(readAll("a,,c,\n")).containsExactly(List.of("a", "", "c", ""));
+    }
+
+    @Test
+    void unquotesFieldsAndUnescapesDoubledQuotes() throws IOException {
+        assertThat(readAll("\"Main St, north end\",\"He said \"\"fix it\"\"\",\"\"\n"))
+                .containsExactly(List.of("Main St, north end", "He said \"fix it\"", ""));
+    }
+
+    @Test
+    void keepsNewlinesInsideQuotedFields() throws IOException {
+        assertThat(readAll("\"line one\nline two\",x\n\"crlf\r\nkept\",y\n"))
+                .containsExactly(List.of("line one\nline two", "x"), List.of("crlf\r\nkept", "y"));
+    }
+
+    @Test
+    void acceptsCrlfAndBareCrLineEndings() throws IOException {
+        assertThat(readAll("a,b\r\nc,d\re,f"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"), List.of("e", "f"));
+    }
+
+    @Test
+    void skipsBlankLinesAndReadsLastRecordWithoutNewline() throws IOException {
+        assertThat(readAll("\n\na,b\n\n\nc,d"))
+                .containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void treatsQuotesInsideUnquotedFieldsAsText() throws IOException {
+        assertThat(readAll("5\" pipe,ok\n")).containsExactly(List.of("5\" pipe", "ok"));
+    }
+
+    @Test
+    void returnsNullAtEndOfInput() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(""));
+
+        assertThat(csv.readRecord()).isNull();
+        assertThat(csv.readRecord()).isNull();
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(input));
+        List<List<String>> records = new ArrayList<>();
+        List<String> record;
+        while ((record = csv.readRecord()) != null) {
+            records.add(record);
+        }
+        return records;
+    }
+}
@@ -0,0 +1,100 @@
+package com.complaint.system.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class MinHashTest {
+
+    private static final String POTHOLE = "Large pothole on Oak Avenue near the school crossing, cars swerving";
+
+    @Test
+    void identicalTextsAgreeEverywhere() {
+        int[] a = MinHash.signature(POTHOLE);
+        int[] b = MinHash.signature(POTHOLE);
+
+        assertThat(MinHash.similarity(a, b)).isEqualTo(1.0);
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            assertThat(MinHash.bandKey(a, band)).isEqualTo(MinHash.bandKey(b, band));
+        }
+    }
+
+    @Test
+    void ignoresCasePunctuationAndWhitespaceRuns() {
+        assertThat(MinHash.signature("Oak Ave. -- pothole!")).isEqualTo(MinHash.signature("oak   ave pothole"));
+    }
+
+    @Test
+    void returnsNullForTextTooShortToShingle() {
+        assertThat(MinHash.signature("ab")).isNull();
+        assertThat(MinHash.signature(" .! ")).isNull();
+        assertThat(MinHash.signature("abc")).isNotNull();
+    }
+
+    @Test
+    void estimatesTrigramJaccardSimilarity() {
+        String[] variants = {
+                "Large pothole on Oak Avenue near the school crossing, cars swerving around it",
+                "Pothole on Oak Avenue near the school crossing",
+                "Streetlight out on Pine Road since last week",
+        };
+        for (String variant : variants) {
+            double exact = jaccard(POTHOLE, variant);
+            double estimate = MinHash.similarity(MinHash.signature(POTHOLE), MinHash.signature(variant));
+            // 64 positions: the standard error of the estimate is at most 1/16
+            assertThat(estimate).as(variant).isCloseTo(exact, within(0.2));
+        }
+    }
+
+    @Test
+    void nearDuplicatesShareABandAndUnrelatedTextsDoNot() {
+        int[] original = MinHash.signature(POTHOLE);
+        int[] reworded = MinHash.signature("Large pothole on Oak Avenue near the school crossing; cars swerve");
+        int[] unrelated = MinHash.signature("Overflowing rubbish bins behind the market hall on Friday");
+
+        assertThat(sharedBands(original, reworded)).isPositive();
+        assertThat(sharedBands(original, unrelated)).isZero();
+    }
+
+    @Test
+    void bandKeysDependOnTheBand() {
+        int[] uniform = new int[MinHash.SIZE];
+        Set<Long> keys = new HashSet<>();
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            keys.add(MinHash.bandKey(uniform, band));
+        }
+        assertThat(keys).hasSize(MinHash.BANDS);
+    }
+
+    private static int sharedBands(int[] a, int[] b) {
+        int shared = 0;
+        for (int band = 0; band < MinHash.BANDS; band++) {
+            if (MinHash.bandKey(a, band) == MinHash.bandKey(b, band)) {
+                shared++;
+            }
+        }
+        return shared;
+    }
+
+    private static double jaccard(String a, String b) {
+        Set<String> x = trigrams(a);
+        Set<String> y = trigrams(b);
+        Set<String> union = new HashSet<>(x);
+        union.addAll(y);
+        x.retainAll(y);
+        return (double) x.size() / union.size();
+    }
+
+    private static Set<String> trigrams(String text) {
+        String normalized = text.toLowerCase().replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + 3 <= normalized.length(); i++) {
+            shingles.add(normalized.substring(i, i + 3));
+        }
+        return shingles;
+    }
+}
@@ -1,7 +1,7 @@
 const API_BASE_URL = 'http://localhost:8080/api';
 
 class ApiService {
-  private async request(endpoint: string, options: RequestInit = {}) {
+  private async send(endpoint: string, options: RequestInit = {}) {
     const url = `${API_BASE_URL}${endpoint}`;
     const config: RequestInit = {
       headers: {
@@ -17,9 +17,22 @@ class ApiService {
       throw new Error(error.error || 'Request failed');
     }
 
+    return response;
+  }
+
+  private async request(endpoint: string, options: RequestInit = {}) {
+    const response = await this.send(endpoint, options);
     return response.json();
   }
 
+  private async requestPage(endpoint: string, nextHeader: string, signal?: AbortSignal): Promise<ComplaintPage> {
+    const response = await this.send(endpoint, { signal });
+    return {
+      items: await response.json(),
+      next: response.headers.get(nextHeader) ?? undefined,
+    };
+  }
+
   async login(email: string, password: string) {
     const response = await this.request('/auth/login', {
       method: 'POST',
@@ -46,6 +59,8 @@ class ApiService {
     category: string;
     location: string;
     priority?: string;
+    latitude?: number;
+    longitude?: number;
   }, photo?: File | null) {
     const formData = new FormData();
     formData.append('title', complaint.title);
@@ -53,6 +68,10 @@ class ApiService {
     formData.append('category', complaint.category);
     formData.append('location', complaint.location);
     formData.append('priority', complaint.priority || 'MEDIUM');
+    if (complaint.latitude !== undefined && complaint.longitude !== undefined) {
+      formData.append('latitude', String(complaint.latitude));
+      formData.append('longitude', String(complaint.longitude));
+    }
     
     const currentUser = this.getCurrentUser();
     if (currentUser?.email) {
@@ -76,8 +95,48 @@ class ApiService {
     return response.json();
   }
 
-  async getComplaints() {
-    return this.request('/complaints');
+  // Newest complaints first, one page at a time; pass the returned `next` back as `cursor` for the following page
+  async getComplaintPage(filters: ComplaintFilters = {}, cursor?: string, limit = 50, signal?: AbortSignal) {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (filters.status) {
+      params.set('status', filters.status);
+    }
+    if (filters.category) {
+      params.set('category', filters.category);
+    }
+    if (cursor) {
+      params.set('cursor', cursor);
+    }
+    return this.requestPage(`/complaints?${params}`, 'X-Next-Cursor', signal);
+  }
+
+  // Ranked full-text search; pass the returned `next` back as `page` for the following page
+  async searchComplaints(query: string, filters: ComplaintFilters = {}, page = '0', size = 50, signal?: AbortSignal) {
+    const params = new URLSearchParams({ q: query, page, size: String(size) });
+    if (filters.status) {
+      params.set('status', filters.status);
+    }
+    if (filters.category) {
+      params.set('category', filters.category);
+    }
+    return this.requestPage(`/complaints/search?${params}`, 'X-Next-Page', signal);
+  }
+
+  async getComplaintStats() {
+    return this.request('/complaints/stats') as Promise<ComplaintStats>;
+  }
+
+  async getNearbyComplaints(lat: number, lng: number, radius = 500, category?: string) {
+    const params = new URLSearchParams({ lat: String(lat), lng: String(lng), radius: String(radius) });
+    if (category) {
+      params.append('category', category);
+    }
+    return this.request(`/complaints/nearby?${params}`) as Promise<NearbyComplaint[]>;
+  }
+
+  async findDuplicateComplaints(complaint: { title: string; description: string; category: string; location: string }) {
+    const params = new URLSearchParams(complaint);
+    return this.request(`/complaints/duplicates?${params}`) as Promise<DuplicateCandidate[]>;
   }
 
   async getMyComplaints() {
@@ -92,11 +151,38 @@ class ApiService {
   }
 
   async upvoteComplaint(id: string) {
-    return this.request(`/complaints/${id}/upvote`, {
+    const currentUser = this.getCurrentUser();
+    const query = currentUser?.email ? `?userEmail=${encodeURIComponent(currentUser.email)}` : '';
+    return this.request(`/complaints/${id}/upvote${query}`, {
       method: 'PUT',
     });
   }
 
+  // Pass the returned watermark back as `since` to receive only what changed after it
+  async getComplaintChanges(since?: string, limit = 50) {
+    const params = new URLSearchParams({ limit: String(limit) });
+    if (since) {
+      params.set('since', since);
+    }
+    return this.request(`/complaints/changes?${params}`) as Promise<ComplaintChanges>;
+  }
+
+  subscribeToComplaintEvents(onEvent: (event: ComplaintEvent) => void, onReconnect?: () => void) {
+    const source = new EventSource(`${API_BASE_URL}/complaints/stream`);
+    const listener = (message: MessageEvent) => onEvent(JSON.parse(message.data));
+    ['created', 'status_changed', 'upvoted', 'imported'].forEach(type => source.addEventListener(type, listener));
+
+    // Events sent while disconnected are not replayed, so callers should reload after a reconnect
+    let opened = false;
+    source.onopen = () => {
+      if (opened) {
+        onReconnect?.();
+      }
+      opened = true;
+    };
+    return () => source.close();
+  }
+
   logout() {
     localStorage.removeItem('user');
   }
@@ -123,9 +209,54 @@ export type Complaint = {
   priority: 'LOW' | 'MEDIUM' | 'HIGH';
   upvotes: number;
   photoUrl?: string;
+  latitude?: number;
+  longitude?: number;
   createdAt: string;
   updatedAt: string;
-  userEmail: string;
+  userEmail?: string;
+};
+
+export type ComplaintFilters = {
+  status?: Complaint['status'];
+  category?: string;
+};
+
+export type ComplaintPage = {
+  items: Complaint[];
+  next?: string;
+};
+
+export type ComplaintStats = {
+  total: number;
+  byStatus: Record<Complaint['status'], number>;
+  byCategory: Record<string, number>;
+  byPriority: Record<Complaint['priority'], number>;
+};
+
+export type NearbyComplaint = {
+  complaint: Complaint;
+  distanceMeters: number;
+};
+
+export type DuplicateCandidate = {
+  complaint: Complaint;
+  similarity: number;
+};
+
+export type ComplaintEvent = {
+  type: 'CREATED' | 'STATUS_CHANGED' | 'UPVOTED' | 'IMPORTED';
+  id?: string;
+  complaint?: Complaint;
+  status?: Complaint['status'];
+  upvotes?: number;
+  count?: number;
+};
+
+export type ComplaintChanges = {
+  changed: Complaint[];
+  deleted: string[];
+  watermark: string;
+  hasMore: boolean;
 };
 
 export type Profile = {
@@ -1,6 +1,6 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useRef, useCallback } from 'react';
 import { Link } from 'react-router-dom';
-import { api, Complaint } from '../lib/api';
+import { api, Complaint, ComplaintFilters } from '../lib/api';
 import { 
   Plus, 
   Search, 
@@ -15,15 +15,26 @@ import {
   TrendingUp
 } from 'lucide-react';
 
+const PAGE_SIZE = 50;
+
+type DashboardStats = { total: number; pending: number; inProgress: number; resolved: number };
+
 export default function Dashboard() {
   const [complaints, setComplaints] = useState<Complaint[]>([]);
-  const [filteredComplaints, setFilteredComplaints] = useState<Complaint[]>([]);
+  const [nextPage, setNextPage] = useState<string | undefined>();
+  const [stats, setStats] = useState<DashboardStats>({ total: 0, pending: 0, inProgress: 0, resolved: 0 });
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState('');
   const [searchTerm, setSearchTerm] = useState('');
+  const [searchQuery, setSearchQuery] = useState('');
   const [statusFilter, setStatusFilter] = useState('all');
   const [categoryFilter, setCategoryFilter] = useState('all');
 
+  // Responses to superseded requests (the filters changed meanwhile) are dropped
+  const latestRequest = useRef(0);
+  const statsTimer = useRef<ReturnType<typeof setTimeout>>();
+
   const statusIcons = {
     PENDING: { icon: Clock, color: 'text-yellow-600', bg: 'bg-yellow-100' },
     IN_PROGRESS: { icon: AlertTriangle, color: 'text-blue-600', bg: 'bg-blue-100' },
@@ -37,33 +48,63 @@ export default function Dashboard() {
     HIGH: 'border-l-red-400'
   };
 
-  useEffect(() => {
-    fetchComplaints();
-  }, []);
+  const filters: ComplaintFilters = {
+    status: statusFilter === 'all' ? undefined : statusFilter as Complaint['status'],
+    category: categoryFilter === 'all' ? undefined : categoryFilter,
+  };
 
-  useEffect(() => {
-    filterComplaints();
-  }, [complaints, searchTerm, statusFilter, categoryFilter]);
+  // The live-event handler is registered once, so it reads the current view through a ref
+  const view = useRef({ filters, searchQuery });
+  view.current = { filters, searchQuery };
+
+  const fetchPage = (next?: string, signal?: AbortSignal) => {
+    const { filters, searchQuery } = view.current;
+    return searchQuery
+      ? api.searchComplaints(searchQuery, filters, next ?? '0', PAGE_SIZE, signal)
+      : api.getComplaintPage(filters, next, PAGE_SIZE, signal);
+  };
 
-  const fetchComplaints = async () => {
+  const fetchStats = async () => {
     try {
-      const controller = new AbortController();
-      const timeoutId = setTimeout(() => controller.abort(), 5000);
-      
-      const response = await fetch('http://localhost:8080/api/complaints', {
-        signal: controller.signal
+      const totals = await api.getComplaintStats();
+      setStats({
+        total: totals.total,
+        pending: totals.byStatus.PENDING ?? 0,
+        inProgress: totals.byStatus.IN_PROGRESS ?? 0,
+        resolved: totals.byStatus.RESOLVED ?? 0,
       });
-      
-      clearTimeout(timeoutId);
-      
-      if (response.ok) {
-        const data = await response.json();
-        setComplaints(Array.isArray(data) ? data : []);
-        setError('');
-      } else {
-        throw new Error('Backend not responding');
+    } catch (error) {
+      console.error('Error fetching stats:', error);
+    }
+  };
+
+  // Coalesce bursts of events into at most one stats request per second
+  const scheduleStatsRefresh = () => {
+    if (statsTimer.current === undefined) {
+      statsTimer.current = setTimeout(() => {
+        statsTimer.current = undefined;
+        fetchStats();
+      }, 1000);
+    }
+  };
+
+  const fetchComplaints = useCallback(async () => {
+    const request = ++latestRequest.current;
+    const controller = new AbortController();
+    const timeoutId = setTimeout(() => controller.abort(), 5000);
+
+    try {
+      const page = await fetchPage(undefined, controller.signal);
+      if (request !== latestRequest.current) {
+        return;
       }
+      setComplaints(page.items);
+      setNextPage(page.next);
+      setError('');
     } catch (error) {
+      if (request !== latestRequest.current) {
+        return;
+      }
       console.error('Error fetching complaints:', error);
       setError('Cannot connect to backend. Using demo data.');
       const currentUser = api.getCurrentUser();
@@ -98,43 +139,97 @@ export default function Dashboard() {
         }
       ];
       setComplaints(mockData);
+      setNextPage(undefined);
+      setStats({ total: mockData.length, pending: 1, inProgress: 1, resolved: 0 });
     } finally {
+      clearTimeout(timeoutId);
       setLoading(false);
     }
-  };
+  }, [statusFilter, categoryFilter, searchQuery]);
 
-  const filterComplaints = () => {
-    let filtered = complaints;
+  const fetchComplaintsRef = useRef(fetchComplaints);
+  fetchComplaintsRef.current = fetchComplaints;
 
-    if (searchTerm) {
-      filtered = filtered.filter(complaint =>
-        complaint.title.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        complaint.description.toLowerCase().includes(searchTerm.toLowerCase()) ||
-        complaint.location.toLowerCase().includes(searchTerm.toLowerCase())
-      );
+  const loadMore = async () => {
+    const request = latestRequest.current;
+    setLoadingMore(true);
+    try {
+      const page = await fetchPage(nextPage);
+      if (request !== latestRequest.current) {
+        return;
+      }
+      // Search pages by offset, so live changes can shift a row onto the next page as well
+      setComplaints(prev => {
+        const shown = new Set(prev.map(c => c.id));
+        return [...prev, ...page.items.filter(c => !shown.has(c.id))];
+      });
+      setNextPage(page.next);
+    } catch (error) {
+      console.error('Error fetching complaints:', error);
+      setError('Could not load more reports.');
+    } finally {
+      setLoadingMore(false);
     }
+  };
 
-    if (statusFilter !== 'all') {
-      filtered = filtered.filter(complaint => complaint.status === statusFilter);
-    }
+  useEffect(() => {
+    const timeoutId = setTimeout(() => setSearchQuery(searchTerm.trim()), 300);
+    return () => clearTimeout(timeoutId);
+  }, [searchTerm]);
 
-    if (categoryFilter !== 'all') {
-      filtered = filtered.filter(complaint => complaint.category === categoryFilter);
-    }
+  useEffect(() => {
+    fetchComplaints();
+  }, [fetchComplaints]);
 
-    setFilteredComplaints(filtered);
-  };
+  useEffect(() => {
+    fetchStats();
+  }, []);
 
-  const getStats = () => {
-    const total = complaints.length;
-    const pending = complaints.filter(c => c.status === 'PENDING').length;
-    const inProgress = complaints.filter(c => c.status === 'IN_PROGRESS').length;
-    const resolved = complaints.filter(c => c.status === 'RESOLVED').length;
-    
-    return { total, pending, inProgress, resolved };
-  };
+  useEffect(() => {
+    // A live complaint belongs in the list only if the server would have returned it for the current filters;
+    // search results are ranked, so new ones wait for the next search
+    const matchesView = (complaint: Complaint) => {
+      const { filters, searchQuery } = view.current;
+      return !searchQuery
+        && (!filters.status || complaint.status === filters.status)
+        && (!filters.category || complaint.category === filters.category);
+    };
 
-  const stats = getStats();
+    // Apply live deltas instead of re-fetching the whole list
+    const unsubscribe = api.subscribeToComplaintEvents(event => {
+      switch (event.type) {
+        case 'CREATED':
+          if (matchesView(event.complaint!)) {
+            setComplaints(prev => prev.some(c => c.id === event.id) ? prev : [event.complaint!, ...prev]);
+          }
+          scheduleStatsRefresh();
+          break;
+        case 'STATUS_CHANGED': {
+          const { status } = view.current.filters;
+          setComplaints(prev => prev.flatMap(c => c.id !== event.id
+            ? [c]
+            : !status || event.complaint!.status === status ? [event.complaint!] : []));
+          scheduleStatsRefresh();
+          break;
+        }
+        case 'UPVOTED':
+          setComplaints(prev => prev.map(c => c.id === event.id ? { ...c, upvotes: event.upvotes! } : c));
+          break;
+        case 'IMPORTED':
+          fetchComplaintsRef.current();
+          scheduleStatsRefresh();
+          break;
+      }
+    }, () => {
+      fetchComplaintsRef.current();
+      fetchStats();
+    });
+    return () => {
+      unsubscribe();
+      clearTimeout(statsTimer.current);
+      statsTimer.current = undefined;
+    };
+  }, []);
 
   if (loading) {
     return (
@@ -277,7 +372,7 @@ export default function Dashboard() {
 
         {/* Complaints List */}
         <div className="space-y-4">
-          {filteredComplaints.length === 0 ? (
+          {complaints.length === 0 ? (
             <div className="bg-white rounded-xl shadow-sm border border-gray-100 p-12 text-center">
               <div className="max-w-md mx-auto">
                 <div className="bg-gray-100 w-16 h-16 rounded-full flex items-center justify-center mx-auto mb-4">
@@ -307,7 +402,7 @@ export default function Dashboard() {
               </div>
             </div>
           ) : (
-            filteredComplaints.map((complaint) => {
+            complaints.map((complaint) => {
               const statusConfig = statusIcons[complaint.status];
               const StatusIcon = statusConfig.icon;
               
@@ -373,6 +468,18 @@ export default function Dashboard() {
             })
           )}
         </div>
+
+        {nextPage && (
+          <div className="mt-6 text-center">
+            <button
+              onClick={loadMore}
+              disabled={loadingMore}
+              className="px-6 py-2 bg-white border border-gray-300 text-gray-700 font-medium rounded-lg hover:bg-gray-50 transition-colors disabled:opacity-50"
+            >
+              {loadingMore ? 'Loading...' : 'Load more'}
+            </button>
+          </div>
+        )}
       </div>
     </div>
   );